@@ -124,6 +124,8 @@ public final class Constants {
     public static final Class<?> USERNAME_CLAIMS_CLASS = String.class;
     public static final String SECRET_CLAIMS_KEY = "secret";
     public static final Class<?> SECRET_CLAIMS_CLASS = String.class;
+    public static final String ROLES_CLAIMS_KEY = "roles";
+    public static final String PERMISSIONS_CLAIMS_KEY = "perms";
   }
 
   /**
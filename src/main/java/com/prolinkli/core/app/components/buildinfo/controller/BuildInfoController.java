@@ -3,6 +3,7 @@ package com.prolinkli.core.app.components.buildinfo.controller;
 import com.prolinkli.core.app.components.buildinfo.model.BuildInfo;
 import com.prolinkli.core.app.components.buildinfo.service.BuildInfoGetService;
 import com.prolinkli.core.app.components.buildinfo.service.BuildInfoSetService;
+import com.prolinkli.framework.auth.model.PublicEndpoint;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -32,6 +33,7 @@ public class BuildInfoController {
 	}
 
 	@PostMapping("")
+	@PublicEndpoint
 	public Boolean insertCurrentBuildInfo() {
 		try {
 			buildInfoSetService.insertCurrentBuildInfo();
@@ -0,0 +1,60 @@
+package com.prolinkli.core.app.components.jwks.controller;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.prolinkli.framework.auth.model.PublicEndpoint;
+import com.prolinkli.framework.jwt.service.JwtKeyRingService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Publishes the public half of the JWT key ring so other services can verify
+ * tokens locally.
+ */
+@RestController
+@PublicEndpoint
+@RequestMapping("/.well-known")
+class JwksController {
+
+  @Autowired
+  private JwtKeyRingService jwtKeyRingService;
+
+  @Value("${jwt.jwks.max-age-seconds:300}")
+  private long maxAgeSeconds;
+
+  /**
+   * JWKS endpoint. The document is built once per key ring reload; clients may
+   * cache it for {@code jwt.jwks.max-age-seconds} and revalidate with the ETag.
+   *
+   * @param ifNoneMatch ETag from a previous response, if any.
+   * @return The JWKS document, or 304 when the client copy is current.
+   */
+  @GetMapping("/jwks.json")
+  public ResponseEntity<Map<String, Object>> getJwks(
+      @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+    if (!jwtKeyRingService.isAsymmetric()) {
+      return ResponseEntity.notFound().build();
+    }
+
+    String eTag = jwtKeyRingService.getJwksETag();
+    CacheControl cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS).cachePublic();
+    if (eTag.equals(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).eTag(eTag).build();
+    }
+
+    return ResponseEntity.ok()
+        .cacheControl(cacheControl)
+        .eTag(eTag)
+        .body(jwtKeyRingService.getJwks());
+  }
+
+}
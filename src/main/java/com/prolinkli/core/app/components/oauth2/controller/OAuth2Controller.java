@@ -2,9 +2,11 @@ package com.prolinkli.core.app.components.oauth2.controller;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import com.prolinkli.core.app.components.oauth2.service.AbstractOAuthService;
+import com.prolinkli.framework.auth.model.PublicEndpoint;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
@@ -38,6 +40,7 @@ import jakarta.servlet.http.HttpServletRequest;
  * @since 1.0
  */
 @Controller
+@PublicEndpoint
 @RequestMapping("/auth/oauth2")
 public class OAuth2Controller {
 
@@ -91,21 +94,24 @@ public class OAuth2Controller {
    * @param code Authorization code returned by OAuth2 provider (required)
    * @param state State parameter for CSRF protection (optional)
    * @param request HttpServletRequest containing callback parameters
-   * @return ModelAndView with postRedirect template for client-side processing
+   * @return Future of the ModelAndView with postRedirect template for client-side processing
    * @throws IllegalArgumentException if code parameter is missing or provider not found
    * 
    * @documentation-pr-rule.mdc
    * This method:
    * 1. Validates the authorization code parameter
    * 2. Delegates to the appropriate OAuth2 service for token exchange
-   * 3. Stores ID token and provider info in request attributes
-   * 4. Returns a template that handles client-side authentication completion
+   * 3. Returns a template that handles client-side authentication completion
+   * 
+   * The token exchange runs asynchronously: the servlet thread is released
+   * while the provider responds, and the view is rendered when the future
+   * completes.
    * 
    * The postRedirect template contains JavaScript that processes the OAuth2 tokens
    * and completes the authentication flow on the client side.
    */
   @RequestMapping("/{id}/callback")
-  public ModelAndView oauthCallback(
+  public CompletableFuture<ModelAndView> oauthCallback(
       @PathVariable("id") String id,
       @RequestParam(value = "code", required = false) String code,
       @RequestParam(value = "state", required = false) String state,
@@ -121,17 +127,15 @@ public class OAuth2Controller {
         "code", code,
         "state", state != null ? state : "");
 
-    String forward = svc.handleCallback(
-        params,
-        request);
-
-    // Create a POST redirect using an auto-submitting form
-    ModelAndView modelAndView = new ModelAndView("postRedirect");
-    modelAndView.addObject("redirectUrl", forward);
-    modelAndView.addObject("idToken", request.getAttribute("idToken"));
-    modelAndView.addObject("provider", svc.getProviderName());
-
-    return modelAndView;
+    return svc.handleCallbackAsync(params)
+        .thenApply(result -> {
+          // Create a POST redirect using an auto-submitting form
+          ModelAndView modelAndView = new ModelAndView("postRedirect");
+          modelAndView.addObject("redirectUrl", result.getForward());
+          modelAndView.addObject("idToken", result.getIdToken());
+          modelAndView.addObject("provider", svc.getProviderName());
+          return modelAndView;
+        });
   }
 
   /**
@@ -0,0 +1,24 @@
+package com.prolinkli.core.app.components.oauth2.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of an OAuth2 callback: the provider's ID token and where the client
+ * should post it next.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OAuthCallbackResult {
+
+  private String idToken;
+
+  private String state;
+
+  private String forward;
+
+}
@@ -1,11 +1,21 @@
 package com.prolinkli.core.app.components.oauth2.service;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import com.prolinkli.core.app.components.oauth2.model.OAuthCallbackResult;
 import com.prolinkli.framework.config.secrets.SecretsManager;
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -21,6 +31,9 @@ import jakarta.servlet.http.HttpServletRequest;
  * - Access to SecretsManager for OAuth2 credentials
  * - Standardized method signatures for OAuth2 operations
  * - Integration with Spring dependency injection
+ * - A per-provider concurrency limit and timeout for calls to the provider
+ *   ({@code oauth.<provider>.max-concurrent}, {@code oauth.<provider>.timeout-ms},
+ *   falling back to {@code oauth.exchange.*})
  * 
  * Implementing classes must provide:
  * - Provider name identification
@@ -40,6 +53,30 @@ public abstract class AbstractOAuthService {
   @Autowired
   protected SecretsManager secretsManager;
 
+  @Autowired
+  private Environment environment;
+
+  @Value("${oauth.exchange.max-concurrent:32}")
+  private int defaultMaxConcurrent;
+
+  @Value("${oauth.exchange.timeout-ms:5000}")
+  private long defaultTimeoutMs;
+
+  @Value("${oauth.exchange.retry-after-seconds:2}")
+  private long retryAfterSeconds;
+
+  private Semaphore permits;
+
+  private long timeoutMs;
+
+  @PostConstruct
+  void initLimits() {
+    String prefix = "oauth." + getProviderName() + ".";
+    this.permits = new Semaphore(environment.getProperty(prefix + "max-concurrent", Integer.class,
+        defaultMaxConcurrent));
+    this.timeoutMs = environment.getProperty(prefix + "timeout-ms", Long.class, defaultTimeoutMs);
+  }
+
   /**
    * Returns the unique identifier for this OAuth2 provider.
    * 
@@ -70,8 +107,23 @@ public abstract class AbstractOAuthService {
    */
   public abstract String getRedirectUrl();
 
+  /**
+   * Handles OAuth2 callback and exchanges authorization code for tokens
+   * without blocking the calling thread.
+   * 
+   * @param params Map containing callback parameters (code, state, etc.)
+   * @return Future completing with the ID token and the next endpoint
+   * 
+   * @documentation-pr-rule.mdc
+   * Implementations should run provider calls through {@link #limited(Supplier)}
+   * so a slow provider is bounded by its concurrency limit and timeout.
+   */
+  public abstract CompletableFuture<OAuthCallbackResult> handleCallbackAsync(Map<String, Object> params);
+
   /**
    * Handles OAuth2 callback and exchanges authorization code for tokens.
+   * Blocking variant of {@link #handleCallbackAsync(Map)} that stores the
+   * ID token and state in request attributes.
    * 
    * @param params Map containing callback parameters (code, state, etc.)
    * @param request HttpServletRequest for storing attributes and session data
@@ -87,6 +139,47 @@ public abstract class AbstractOAuthService {
    * Implementation should handle provider-specific token exchange APIs
    * and error scenarios appropriately.
    */
-  public abstract String handleCallback(Map<String, Object> params, HttpServletRequest request);
+  public String handleCallback(Map<String, Object> params, HttpServletRequest request) {
+    try {
+      OAuthCallbackResult result = handleCallbackAsync(params).join();
+      request.setAttribute("idToken", result.getIdToken());
+      if (result.getState() != null) {
+        request.setAttribute("state", result.getState());
+      }
+      return result.getForward();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Timeout for a single call to this provider, in milliseconds.
+   */
+  protected long getTimeoutMs() {
+    return timeoutMs;
+  }
+
+  /**
+   * Runs a provider call under this provider's concurrency limit and timeout.
+   * When the limit is reached the call is rejected immediately with
+   * {@link ServiceOverloadedException} rather than queued.
+   */
+  protected <T> CompletableFuture<T> limited(Supplier<CompletableFuture<T>> call) {
+    if (!permits.tryAcquire()) {
+      return CompletableFuture.failedFuture(new ServiceOverloadedException(
+          "Too many " + getProviderName() + " sign-ins in progress, please retry shortly", retryAfterSeconds));
+    }
+    try {
+      return call.get()
+          .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+          .whenComplete((result, error) -> permits.release());
+    } catch (RuntimeException e) {
+      permits.release();
+      return CompletableFuture.failedFuture(e);
+    }
+  }
 
 }
@@ -1,19 +1,24 @@
 package com.prolinkli.core.app.components.oauth2.service;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeRequestUrl;
-import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeTokenRequest;
-import com.google.api.client.googleapis.auth.oauth2.GoogleTokenResponse;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.prolinkli.core.app.Constants.OAuth2Providers;
 import com.prolinkli.core.app.Constants.OAuth2ProvidersLks;
+import com.prolinkli.core.app.components.oauth2.model.OAuthCallbackResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-
-import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 /**
  * Google OAuth2 service implementation for handling Google OAuth2 authentication flows.
@@ -56,6 +61,15 @@ public class GoogleOAuthService extends AbstractOAuthService {
    */
   private static final String LOGIN_ENDPOINT = "/v1/api/buildinfo";
 
+  @Value("${google.oauth.token-url:https://oauth2.googleapis.com/token}")
+  private String tokenUrl;
+
+  /**
+   * Non-blocking client for the token endpoint (see WebClientConfig).
+   */
+  @Autowired
+  private WebClient oauthWebClient;
+
   /**
    * Returns the Google OAuth2 provider identifier.
    * 
@@ -99,96 +113,85 @@ public class GoogleOAuthService extends AbstractOAuthService {
    * Handles Google OAuth2 callback and exchanges authorization code for ID token.
    * 
    * @param params Map containing OAuth2 callback parameters including authorization code
-   * @param request HttpServletRequest for storing ID token and state in attributes
-   * @return String endpoint URL to redirect to after successful token exchange
+   * @return Future completing with the ID token, state and next endpoint
    * @throws IllegalArgumentException if authorization code is missing from callback
-   * @throws RuntimeException if token exchange fails due to network or API errors
    * 
    * @documentation-pr-rule.mdc
    * This method processes Google's OAuth2 callback by:
    * 1. Validating the presence of authorization code parameter
-   * 2. Exchanging the code for Google ID token using Google's token endpoint
-   * 3. Storing the ID token in request attributes for downstream processing
-   * 4. Preserving state parameter if present for CSRF protection
-   * 5. Returning the next endpoint in the authentication flow
+   * 2. Exchanging the code for Google ID token using Google's token endpoint,
+   *    without blocking the calling thread
+   * 3. Preserving state parameter if present for CSRF protection
+   * 4. Returning the next endpoint in the authentication flow
    * 
    * The exchanged ID token contains user profile information and is used
    * for authentication and user account creation/linking.
    */
   @Override
-  public String handleCallback(Map<String, Object> params, HttpServletRequest request) {
+  public CompletableFuture<OAuthCallbackResult> handleCallbackAsync(Map<String, Object> params) {
 
     if (!params.containsKey(OAuth2Providers.Google.CODE_KEY)) {
       throw new IllegalArgumentException("Missing code parameter in callback");
     }
 
     String authorizationCode = (String) params.get(OAuth2Providers.Google.CODE_KEY);
-
-    try {
-      // Exchange authorization code for ID token
-      String idToken = exchangeCodeForIdToken(authorizationCode);
-
-      // Store the ID token in request attributes for the next step
-      request.setAttribute("idToken", idToken);
-
-      if (params.containsKey(OAuth2Providers.Google.STATE_KEY)) {
-        request.setAttribute(
-            OAuth2Providers.Google.STATE_KEY,
-            params.getOrDefault(OAuth2Providers.Google.STATE_KEY, null));
-      }
-
-      // TODO: Change into proper redirect URL without hardcoding
-      return LOGIN_ENDPOINT;
-
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to exchange authorization code for ID token", e);
-    }
+    Object state = params.get(OAuth2Providers.Google.STATE_KEY);
+
+    return limited(() -> exchangeCodeForIdToken(authorizationCode))
+        .thenApply(idToken -> OAuthCallbackResult.builder()
+            .idToken(idToken)
+            .state(state != null ? state.toString() : null)
+            // TODO: Change into proper redirect URL without hardcoding
+            .forward(LOGIN_ENDPOINT)
+            .build());
   }
 
   /**
    * Exchanges Google authorization code for ID token using Google's token endpoint.
    * 
    * @param authorizationCode Authorization code received from Google OAuth2 callback
-   * @return String ID token containing user profile and authentication information
-   * @throws IOException if network communication with Google's token endpoint fails
-   * @throws RuntimeException if token response is invalid or missing ID token
+   * @return Future completing with the ID token containing user profile and
+   *         authentication information
    * 
    * @documentation-pr-rule.mdc
    * This method performs the OAuth2 authorization code grant flow by:
-   * 1. Creating a token request with Google's API client library
+   * 1. Posting the code to Google's token endpoint with the non-blocking WebClient
    * 2. Including client credentials from SecretsManager
    * 3. Specifying the redirect URI used in the authorization request
-   * 4. Executing the request against Google's token endpoint
-   * 5. Validating the response contains a valid ID token
+   * 4. Validating the response contains a valid ID token
    * 
    * The returned ID token is a JWT that contains user profile information
    * and can be verified using Google's public keys for authentication.
-   * 
-   * Uses Google's NetHttpTransport and GsonFactory for reliable HTTP communication
-   * and JSON processing according to Google's best practices.
    */
-  private String exchangeCodeForIdToken(String authorizationCode) throws IOException {
-    try {
-      GoogleTokenResponse tokenResponse = new GoogleAuthorizationCodeTokenRequest(
-          new NetHttpTransport(),
-          new GsonFactory(),
-          secretsManager.getGoogleClientId(),
-          secretsManager.getGoogleClientSecret(),
-          authorizationCode,
-          // TODO: Change into proper redirect URL without hardcoding
-          REDIRECT_URL)
-          .execute();
-
-      String idToken = tokenResponse.getIdToken();
-      if (idToken == null || idToken.isEmpty()) {
-        throw new RuntimeException("Google token response did not contain an ID token");
-      }
-
-      return idToken;
-
-    } catch (IOException e) {
-      throw new RuntimeException("Failed to exchange authorization code for ID token: " + e.getMessage(), e);
-    }
+  private CompletableFuture<String> exchangeCodeForIdToken(String authorizationCode) {
+    MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+    form.add("grant_type", "authorization_code");
+    form.add("code", authorizationCode);
+    form.add("client_id", secretsManager.getGoogleClientId());
+    form.add("client_secret", secretsManager.getGoogleClientSecret());
+    // TODO: Change into proper redirect URL without hardcoding
+    form.add("redirect_uri", REDIRECT_URL);
+
+    return oauthWebClient.post()
+        .uri(tokenUrl)
+        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+        .accept(MediaType.APPLICATION_JSON)
+        .body(BodyInserters.fromFormData(form))
+        .retrieve()
+        .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+        })
+        // Cancels the HTTP exchange itself, not just the caller's wait
+        .timeout(Duration.ofMillis(getTimeoutMs()))
+        .map(response -> {
+          Object idToken = response.get("id_token");
+          if (idToken == null || idToken.toString().isEmpty()) {
+            throw new RuntimeException("Google token response did not contain an ID token");
+          }
+          return idToken.toString();
+        })
+        .onErrorMap(WebClientResponseException.class, e -> new RuntimeException(
+            "Failed to exchange authorization code for ID token: " + e.getStatusCode(), e))
+        .toFuture();
   }
 
 }
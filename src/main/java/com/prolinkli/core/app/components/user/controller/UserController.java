@@ -7,9 +7,13 @@ import com.prolinkli.core.app.Constants.LkUserAuthenticationMethods;
 import com.prolinkli.core.app.components.user.model.AuthorizedUser;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.components.user.model.UserAuthenticationForm;
+import com.prolinkli.core.app.components.user.model.UsernameAvailability;
 import com.prolinkli.core.app.components.user.service.UserAuthService;
 import com.prolinkli.core.app.components.user.service.UserCreateService;
+import com.prolinkli.core.app.components.user.service.UsernameAvailabilityService;
+import com.prolinkli.framework.auth.util.AuthValidationUtil;
 import com.prolinkli.framework.auth.model.CurrentUser;
+import com.prolinkli.framework.auth.model.PublicEndpoint;
 import com.prolinkli.framework.cookies.service.CookieSaveService;
 import com.prolinkli.framework.cookies.util.JwtCookieUtil;
 import com.prolinkli.framework.exception.response.model.ResponseObject;
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -34,6 +39,9 @@ class UserController {
   @Autowired
   private UserCreateService userCreateService;
 
+  @Autowired
+  private UsernameAvailabilityService usernameAvailabilityService;
+
   @Autowired
   private CookieSaveService cookieSaveService;
 
@@ -44,6 +52,7 @@ class UserController {
    * @param response HttpServletResponse to set cookies.
    * @return AuthorizedUser object containing user details and auth token.
    */
+  @PublicEndpoint
   @PostMapping("/login")
   public AuthorizedUser login(@RequestBody UserAuthenticationForm item, HttpServletResponse response) {
     AuthorizedUser user = userAuthService.login(item);
@@ -105,6 +114,7 @@ class UserController {
    *                            - Authentication status and permissions
    */
   //TODO: add {authProvider} to the path 
+  @PublicEndpoint
   @PostMapping("/login/google")
   public AuthorizedUser loginWithGoogle(@RequestBody Map<String, String> request, HttpServletResponse response) {
     String idToken = request.get("idToken");
@@ -135,6 +145,7 @@ class UserController {
    * @param response HttpServletResponse to set cookies.
    * @return AuthorizedUser object containing user details and auth token.
    */
+  @PublicEndpoint
   @PostMapping("/register")
   public AuthorizedUser register(@RequestBody UserAuthenticationForm form,
       HttpServletResponse response) {
@@ -149,6 +160,20 @@ class UserController {
     return user;
   }
 
+  /**
+   * Username availability probe for registration forms. Answered from memory
+   * for free names; only a possible match is confirmed against the database.
+   *
+   * @param username Username to check.
+   * @return Whether the username can still be registered.
+   */
+  @PublicEndpoint
+  @GetMapping("/available")
+  public UsernameAvailability isUsernameAvailable(@RequestParam("username") String username) {
+    AuthValidationUtil.validateUserName(username);
+    return new UsernameAvailability(username, usernameAvailabilityService.isAvailable(username));
+  }
+
   @GetMapping("/refresh")
   public AuthorizedUser refresh(@CurrentUser AuthorizedUser user, HttpServletResponse response) {
     if (user == null) {
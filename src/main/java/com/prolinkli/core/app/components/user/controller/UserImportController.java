@@ -0,0 +1,59 @@
+package com.prolinkli.core.app.components.user.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prolinkli.core.app.components.user.model.UserImportFormat;
+import com.prolinkli.core.app.components.user.service.UserImportService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/admin/user")
+class UserImportController {
+
+  @Autowired
+  private UserImportService userImportService;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * Bulk user import. The request body is a CSV (text/csv) or NDJSON
+   * (application/x-ndjson) file of usernames and passwords, read as a stream.
+   *
+   * The response is NDJSON with one progress object per batch, flushed as
+   * soon as the batch is written; the last one has {@code done: true}.
+   *
+   * @param request  the upload
+   * @param response receives the progress reports
+   */
+  @PreAuthorize("hasPermission('ALL', 'USER:CREATE')")
+  @PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+  public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+    UserImportFormat format = UserImportFormat.fromContentType(request.getContentType());
+
+    response.setContentType(UserImportFormat.NDJSON.getContentType());
+    OutputStream out = response.getOutputStream();
+
+    userImportService.importUsers(request.getInputStream(), format, progress -> {
+      try {
+        out.write(objectMapper.writeValueAsBytes(progress));
+        out.write('\n');
+        out.flush();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to write import progress", e);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,57 @@
+package com.prolinkli.core.app.components.user.listener;
+
+import com.prolinkli.core.app.components.user.service.UserGetService;
+import com.prolinkli.core.app.components.user.service.UsernameAvailabilityService;
+import com.prolinkli.framework.db.event.DbNotificationEvent;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds usernames created or renamed on any node to the local username filter,
+ * and drops the renamed user from the local user cache (see
+ * 20261019.05-AddUserIdToUsernameChangeNotifications). The payload is
+ * {@code <id>:<username>}.
+ */
+@Component
+public class UsernameChangeNotificationListener implements ApplicationListener<DbNotificationEvent> {
+
+  public static final String CHANNEL = "username_changes";
+
+  @Autowired
+  private UsernameAvailabilityService usernameAvailabilityService;
+
+  @Autowired
+  private UserGetService userGetService;
+
+  @Override
+  public void onApplicationEvent(DbNotificationEvent event) {
+    if (!CHANNEL.equals(event.getChannel())) {
+      return;
+    }
+
+    if (event.isResync()) {
+      usernameAvailabilityService.rebuild();
+      userGetService.evictAllUsers();
+      return;
+    }
+
+    String payload = event.getPayload();
+    int separator = payload.indexOf(':');
+    if (separator < 0) {
+      // Sent by a trigger that predates the id prefix
+      usernameAvailabilityService.add(payload);
+      return;
+    }
+
+    usernameAvailabilityService.add(payload.substring(separator + 1));
+    try {
+      userGetService.evictUser(Long.valueOf(payload.substring(0, separator)));
+    } catch (NumberFormatException e) {
+      // Not an id prefix after all, so the whole payload is the username
+      usernameAvailabilityService.add(payload);
+    }
+  }
+
+}
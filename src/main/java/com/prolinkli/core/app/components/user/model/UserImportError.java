@@ -0,0 +1,21 @@
+package com.prolinkli.core.app.components.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A bulk import record that was skipped, and why.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportError {
+
+  private long line;
+
+  private String username;
+
+  private String message;
+
+}
@@ -0,0 +1,43 @@
+package com.prolinkli.core.app.components.user.model;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats accepted by the bulk user import.
+ *
+ * CSV needs a header row naming a {@code username} and a {@code password}
+ * column; NDJSON has one {@code {"username": ..., "password": ...}} object
+ * per line.
+ */
+public enum UserImportFormat {
+
+  CSV("text/csv"),
+  NDJSON("application/x-ndjson");
+
+  private final String contentType;
+
+  UserImportFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * @throws IllegalArgumentException if the content type is not supported
+   */
+  public static UserImportFormat fromContentType(String contentType) {
+    if (contentType != null) {
+      MediaType mediaType = MediaType.parseMediaType(contentType);
+      for (UserImportFormat format : values()) {
+        if (MediaType.parseMediaType(format.contentType).equalsTypeAndSubtype(mediaType)) {
+          return format;
+        }
+      }
+    }
+    throw new IllegalArgumentException("Unsupported import content type: " + contentType
+        + " (expected text/csv or application/x-ndjson)");
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.prolinkli.core.app.components.user.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Progress of a bulk user import, reported after every batch. Counts are
+ * totals so far; errors are those of this batch only.
+ */
+@Data
+public class UserImportProgress {
+
+  private int batch;
+
+  private long recordsRead;
+
+  private long imported;
+
+  private long failed;
+
+  private List<UserImportError> errors = new ArrayList<>();
+
+  // true on the last report of the import
+  private boolean done;
+
+}
@@ -0,0 +1,24 @@
+package com.prolinkli.core.app.components.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One user read from a bulk import file.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRecord {
+
+  // 1-based line in the uploaded file, for error reports
+  private long line;
+
+  private String username;
+
+  @ToString.Exclude
+  private String password;
+
+}
@@ -0,0 +1,16 @@
+package com.prolinkli.core.app.components.user.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UsernameAvailability {
+
+  private String username;
+
+  private boolean available;
+
+}
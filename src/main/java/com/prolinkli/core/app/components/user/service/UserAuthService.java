@@ -57,7 +57,8 @@ public class UserAuthService {
       // Consider checking if user is null and handle accordingly, but this shouldn't
       // happen if the authentication method is correct
       try {
-        return jwtCreateService.createJwtTokenForUser(user, userAuthForm.getParameters());
+        // The form parameters hold credentials; never copy them into claims
+        return jwtCreateService.createJwtTokenForUser(user, Map.of());
       } catch (Exception e) {
         // Handle JWT creation failure, log it, or rethrow as needed
         throw new RuntimeException("Failed to create JWT token for user: " + user.getUsername(), e);
@@ -10,12 +10,13 @@ import com.prolinkli.framework.auth.model.AuthProvider;
 import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.db.dao.DaoFactory;
 import com.prolinkli.framework.exception.exceptions.model.ResourceAlreadyExists;
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class UserCreateService {
@@ -28,26 +29,31 @@ public class UserCreateService {
 
   private final UserProvider userProvider = new UserProvider();
 
+  private final TransactionTemplate transactionTemplate;
+
   @Autowired
   private UserAuthService userAuthService;
 
   @Autowired
-  public UserCreateService(List<AuthProvider> authProviders, DaoFactory daoFactory) {
+  public UserCreateService(List<AuthProvider> authProviders, DaoFactory daoFactory,
+      TransactionTemplate transactionTemplate) {
     this.authProviders = authProviders;
     this.dao = daoFactory.getDao(UserDb.class, Long.class);
+    this.transactionTemplate = transactionTemplate;
   }
 
   /**
    * Creates a new user with the provided credentials.
-   * This method is transactional - if any operation fails, all database changes
-   * will be automatically rolled back.
+   * Providers that create users atomically (see
+   * {@link AuthProvider#createsUserAtomically()}) run without a transaction,
+   * so no connection is held while they hash. The others run in a transaction -
+   * if any operation fails, all database changes are rolled back.
    *
    * @param user the user authentication form for the new user
    * @return AuthorizedUser with JWT tokens
    * @throws ResourceAlreadyExists if user already exists
    * @throws RuntimeException      if user creation fails for any other reason
    */
-  @Transactional(rollbackFor = Exception.class)
   public AuthorizedUser createUser(UserAuthenticationForm user) {
 
     if (user == null) {
@@ -58,24 +64,36 @@ public class UserCreateService {
 
     try {
 
-      // Create user account (inserts into users table and auth-specific tables)
-      authProvider.createUser(user, dao);
+      if (authProvider.createsUserAtomically()) {
+        // users, credentials and jwt_tokens in one statement, signed in
+        return authProvider.createUser(user, dao);
+      }
+
+      return transactionTemplate.execute(status -> {
+        // Create user account (inserts into users table and auth-specific tables)
+        AuthorizedUser created = authProvider.createUser(user, dao);
+        if (created != null && created.getAuthToken() != null) {
+          // The provider signed the new user in while creating them
+          return created;
+        }
 
-      // Login and create JWT tokens (inserts into jwt_tokens table)
-      return userAuthService.login(user);
+        // Login and create JWT tokens (inserts into jwt_tokens table)
+        return userAuthService.login(user);
+      });
 
-    } catch (ResourceAlreadyExists e) {
+    } catch (ResourceAlreadyExists | ServiceOverloadedException e) {
       // If the user already exists, we throw a ResourceAlreadyExists exception.
       // Transaction will rollback automatically, but since this is a business logic
       // exception,
-      // we want to propagate it as-is
+      // we want to propagate it as-is. The same goes for a saturated hashing
+      // pool, which is reported as 503.
       throw e;
 
     } catch (Exception e) {
       LOGGER.error("Failed to create user: {}:{}", user.getId(), user.getUsername(), e);
-      // The @Transactional annotation will automatically rollback all database
-      // operations
-      // No manual cleanup needed - Spring will handle it
+      // The transaction template rolls back all database operations; the
+      // atomic providers never leave partial rows behind.
+      // No manual cleanup needed
       throw new RuntimeException("Failed to create user: " + user.getUsername(), e);
     }
   }
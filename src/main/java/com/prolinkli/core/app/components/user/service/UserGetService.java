@@ -1,6 +1,12 @@
 package com.prolinkli.core.app.components.user.service;
 
 import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import com.prolinkli.core.app.Constants;
 import com.prolinkli.core.app.components.user.model.User;
@@ -15,7 +21,10 @@ import com.prolinkli.framework.db.dao.DaoFactory;
 import com.prolinkli.framework.exception.exceptions.model.ResourceNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Service
 public class UserGetService {
@@ -26,10 +35,27 @@ public class UserGetService {
   private final UserProvider userProvider = new UserProvider();
   private final UserPasswordProvider userPasswordProvider = new UserPasswordProvider();
 
+  // Request attribute holding the users already loaded during this request
+  private static final String REQUEST_MEMO_ATTRIBUTE = UserGetService.class.getName() + ".users";
+
+  /**
+   * id -> user row, shared across requests on this node. Rows are mapped
+   * through the UserProvider on every lookup, so callers get their own User
+   * and the cached row stays intact. The TTL bounds how long a change that
+   * was not notified can go unseen; known changes call {@link #evictUser}.
+   */
+  private final Cache<Long, UserDb> userCache;
+
   @Autowired
-  public UserGetService(DaoFactory daoFactory) {
+  public UserGetService(DaoFactory daoFactory,
+      @Value("${user.cache.ttl-seconds:30}") long cacheTtlSeconds,
+      @Value("${user.cache.max-size:10000}") long cacheMaxSize) {
     this.dao = daoFactory.getDao(UserDb.class, Long.class);
     this.userPasswordDao = daoFactory.getDao(UserPasswordDb.class, Long.class);
+    this.userCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+        .maximumSize(cacheMaxSize)
+        .build();
   }
 
   public User getUserById(Integer userId) {
@@ -45,14 +71,43 @@ public class UserGetService {
       throw new IllegalArgumentException("User ID must be a positive integer");
     }
 
-    UserDb userDb = dao.select(userId);
+    // JWT verification and @CurrentUser resolution both ask for the same user;
+    // the memo keeps that to one lookup even if the cache entry expires between
+    // them, and the cache serves hot users without touching the database.
+    Map<Long, UserDb> memo = getRequestMemo();
+    UserDb userDb = memo != null ? memo.get(userId) : null;
     if (userDb == null) {
-      throw new ResourceNotFoundException("User not found with ID: " + userId);
+      userDb = userCache.get(userId, this::loadUserById);
+      if (memo != null) {
+        memo.put(userId, userDb);
+      }
     }
 
     return userProvider.map(userDb);
   }
 
+  /**
+   * Drops a cached user so the next lookup reads the database. Call after
+   * updating or deleting a user.
+   */
+  public void evictUser(Long userId) {
+    if (userId == null) {
+      return;
+    }
+    userCache.invalidate(userId);
+    Map<Long, UserDb> memo = getRequestMemo();
+    if (memo != null) {
+      memo.remove(userId);
+    }
+  }
+
+  /**
+   * Drops every cached user, for when changes may have been missed.
+   */
+  public void evictAllUsers() {
+    userCache.invalidateAll();
+  }
+
   public User getUserByUsername(String username) {
 
     if (username == null || username.isEmpty()) {
@@ -119,4 +174,27 @@ public class UserGetService {
     return userPassword;
   }
 
+  private UserDb loadUserById(Long userId) {
+    UserDb userDb = dao.select(userId);
+    if (userDb == null) {
+      throw new ResourceNotFoundException("User not found with ID: " + userId);
+    }
+    return userDb;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<Long, UserDb> getRequestMemo() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    Map<Long, UserDb> memo = (Map<Long, UserDb>) attributes.getAttribute(REQUEST_MEMO_ATTRIBUTE,
+        RequestAttributes.SCOPE_REQUEST);
+    if (memo == null) {
+      memo = new HashMap<>();
+      attributes.setAttribute(REQUEST_MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+    }
+    return memo;
+  }
+
 }
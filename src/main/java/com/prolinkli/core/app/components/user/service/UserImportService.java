@@ -0,0 +1,269 @@
+package com.prolinkli.core.app.components.user.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prolinkli.core.app.Constants.LkUserAuthenticationMethods;
+import com.prolinkli.core.app.components.user.model.UserImportError;
+import com.prolinkli.core.app.components.user.model.UserImportFormat;
+import com.prolinkli.core.app.components.user.model.UserImportProgress;
+import com.prolinkli.core.app.components.user.model.UserImportRecord;
+import com.prolinkli.core.app.components.user.util.UserImportReader;
+import com.prolinkli.core.app.db.mapper.custom.UserImportMapper;
+import com.prolinkli.core.app.db.model.custom.UserImportRowDb;
+import com.prolinkli.framework.auth.util.AuthValidationUtil;
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
+import com.prolinkli.framework.hash.service.PasswordHashService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk import of password users from a CSV or NDJSON upload.
+ *
+ * The upload is read one record at a time and handled in batches of
+ * {@code user.import.batch-size}, so memory use does not depend on the file
+ * size. For each batch:
+ * 1. Records are validated and de-duplicated; names already taken are
+ *    rejected from the in-memory username filter before any hash is spent
+ * 2. Passwords are hashed in parallel on the shared hashing pool, with at
+ *    most {@code user.import.max-in-flight} hashes queued at a time; when the
+ *    pool reports overload the import waits, so logins keep their share
+ * 3. Users and password hashes are inserted with one statement
+ * 4. Progress, with the errors of the batch, is reported to the caller
+ *
+ * Each batch commits on its own. A failed batch is reported and the import
+ * carries on with the next one.
+ */
+@Service
+public class UserImportService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+  // Pause before retrying when the hashing pool is full and this import has
+  // nothing of its own in flight to wait for
+  private static final long OVERLOAD_BACKOFF_MS = 50;
+
+  private final UserImportMapper userImportMapper;
+
+  private final PasswordHashService passwordHashService;
+
+  private final ObjectMapper objectMapper;
+
+  @Autowired
+  private UsernameAvailabilityService usernameAvailabilityService;
+
+  @Value("${user.import.batch-size:500}")
+  private int batchSize;
+
+  @Value("${user.import.max-in-flight:0}")
+  private int maxInFlight;
+
+  @Autowired
+  public UserImportService(UserImportMapper userImportMapper, PasswordHashService passwordHashService,
+      ObjectMapper objectMapper) {
+    this.userImportMapper = userImportMapper;
+    this.passwordHashService = passwordHashService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Imports every record of the upload.
+   *
+   * @param input    the upload, read incrementally
+   * @param format   the upload format
+   * @param progress called after every batch, on the calling thread
+   * @return the final progress report
+   * @throws IllegalArgumentException if a CSV upload has no usable header;
+   *                                  nothing is imported or reported then
+   */
+  public UserImportProgress importUsers(InputStream input, UserImportFormat format,
+      Consumer<UserImportProgress> progress) throws IOException {
+    UserImportReader reader = UserImportReader.open(input, format, objectMapper);
+
+    List<UserImportRecord> batch = new ArrayList<>(batchSize);
+    Set<String> batchUsernames = new HashSet<>();
+    List<UserImportError> errors = new ArrayList<>();
+    long recordsRead = 0;
+    long imported = 0;
+    long failed = 0;
+    int batchNumber = 0;
+
+    while (true) {
+      // Rejected and unparseable records count towards the batch too, so a
+      // file of mostly bad rows is still reported (and its errors released)
+      // as it goes
+      if (batch.size() + errors.size() >= batchSize) {
+        imported += importBatch(batch, errors);
+        failed += errors.size();
+        progress.accept(report(++batchNumber, recordsRead, imported, failed, errors, false));
+        batch.clear();
+        batchUsernames.clear();
+        errors = new ArrayList<>();
+      }
+
+      UserImportRecord record;
+      try {
+        record = reader.next();
+      } catch (IllegalArgumentException e) {
+        recordsRead++;
+        errors.add(new UserImportError(reader.getLineNumber(), null, e.getMessage()));
+        continue;
+      }
+      if (record == null) {
+        break;
+      }
+      recordsRead++;
+
+      String error = validate(record, batchUsernames);
+      if (error != null) {
+        errors.add(new UserImportError(record.getLine(), record.getUsername(), error));
+      } else {
+        batch.add(record);
+        batchUsernames.add(record.getUsername());
+      }
+    }
+
+    imported += importBatch(batch, errors);
+    failed += errors.size();
+    UserImportProgress last = report(++batchNumber, recordsRead, imported, failed, errors, true);
+    progress.accept(last);
+
+    LOGGER.info("User import finished: {} record(s) read, {} imported, {} failed", recordsRead, imported, failed);
+    return last;
+  }
+
+  /**
+   * @return why the record cannot be imported, or null if it can
+   */
+  private String validate(UserImportRecord record, Set<String> batchUsernames) {
+    try {
+      AuthValidationUtil.validateUserName(record.getUsername());
+    } catch (IllegalArgumentException e) {
+      return e.getMessage();
+    }
+    if (record.getPassword() == null || record.getPassword().isEmpty()) {
+      return "Password cannot be null or empty";
+    }
+    if (batchUsernames.contains(record.getUsername())
+        || usernameAvailabilityService.isTaken(record.getUsername())) {
+      return "User already exists with username: " + record.getUsername();
+    }
+    return null;
+  }
+
+  /**
+   * Hashes and inserts the batch. Records that could not be imported are
+   * added to {@code errors}.
+   *
+   * @return the number of users inserted
+   */
+  private int importBatch(List<UserImportRecord> batch, List<UserImportError> errors) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    List<CompletableFuture<String>> hashes = submitHashes(batch);
+
+    List<UserImportRowDb> rows = new ArrayList<>(batch.size());
+    List<UserImportRecord> hashed = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      UserImportRecord record = batch.get(i);
+      try {
+        rows.add(new UserImportRowDb(record.getUsername(), hashes.get(i).join()));
+        hashed.add(record);
+      } catch (CompletionException e) {
+        LOGGER.warn("Failed to hash imported password on line {}: {}", record.getLine(), e.getCause().getMessage());
+        errors.add(new UserImportError(record.getLine(), record.getUsername(), "Password could not be hashed"));
+      }
+    }
+    if (rows.isEmpty()) {
+      return 0;
+    }
+
+    Set<String> inserted;
+    try {
+      inserted = new HashSet<>(userImportMapper.insertPasswordUsers(rows, LkUserAuthenticationMethods.PASSWORD));
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to insert user import batch of {} row(s)", rows.size(), e);
+      hashed.forEach(record -> errors.add(
+          new UserImportError(record.getLine(), record.getUsername(), "Batch insert failed")));
+      return 0;
+    }
+
+    for (UserImportRecord record : hashed) {
+      if (inserted.contains(record.getUsername())) {
+        usernameAvailabilityService.add(record.getUsername());
+      } else {
+        // Registered by someone else since the filter was checked
+        errors.add(new UserImportError(record.getLine(), record.getUsername(),
+            "User already exists with username: " + record.getUsername()));
+      }
+    }
+    return inserted.size();
+  }
+
+  /**
+   * Queues the batch's hashes on the shared hashing pool, keeping at most
+   * max-in-flight of them outstanding and backing off while the pool is
+   * overloaded.
+   */
+  private List<CompletableFuture<String>> submitHashes(List<UserImportRecord> batch) {
+    int limit = maxInFlight > 0 ? maxInFlight : passwordHashService.getPoolSize();
+    List<CompletableFuture<String>> hashes = new ArrayList<>(batch.size());
+    int oldest = 0;
+
+    for (UserImportRecord record : batch) {
+      while (true) {
+        if (hashes.size() - oldest >= limit) {
+          hashes.get(oldest++).exceptionally(e -> null).join();
+          continue;
+        }
+        try {
+          hashes.add(passwordHashService.hashAsync(record.getPassword()));
+          break;
+        } catch (ServiceOverloadedException e) {
+          if (oldest < hashes.size()) {
+            hashes.get(oldest++).exceptionally(ex -> null).join();
+          } else {
+            sleep(OVERLOAD_BACKOFF_MS);
+          }
+        }
+      }
+    }
+    return hashes;
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the hashing pool", e);
+    }
+  }
+
+  private static UserImportProgress report(int batch, long recordsRead, long imported, long failed,
+      List<UserImportError> errors, boolean done) {
+    UserImportProgress progress = new UserImportProgress();
+    progress.setBatch(batch);
+    progress.setRecordsRead(recordsRead);
+    progress.setImported(imported);
+    progress.setFailed(failed);
+    progress.setErrors(errors);
+    progress.setDone(done);
+    return progress;
+  }
+
+}
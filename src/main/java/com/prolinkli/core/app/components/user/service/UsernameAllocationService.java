@@ -0,0 +1,67 @@
+package com.prolinkli.core.app.components.user.service;
+
+import com.prolinkli.core.app.Constants;
+import com.prolinkli.core.app.db.mapper.custom.UsernameAllocationMapper;
+import com.prolinkli.core.app.db.model.generated.UserDb;
+import com.prolinkli.framework.auth.util.AuthValidationUtil;
+import com.prolinkli.framework.exception.exceptions.model.ResourceAlreadyExists;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates users whose username is generated from a base (OAuth signups).
+ *
+ * The name is reserved and the user inserted in one statement: the base's
+ * counter in username_suffixes is bumped with INSERT ... ON CONFLICT, so
+ * concurrent signups with the same base get {@code base}, {@code base-1},
+ * {@code base-2}, ... without any check-then-insert race. Generated bases
+ * contain only [a-z0-9], so a suffixed name can never equal another base.
+ */
+@Service
+public class UsernameAllocationService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UsernameAllocationService.class);
+
+  public static final String SUFFIX_SEPARATOR = "-";
+
+  // Only needed when a password user picked a name like "base-1" by hand;
+  // each attempt takes the next suffix, so this never spins
+  private static final int MAX_ATTEMPTS = 3;
+
+  private final UsernameAllocationMapper usernameAllocationMapper;
+
+  @Autowired
+  private UsernameAvailabilityService usernameAvailabilityService;
+
+  @Autowired
+  public UsernameAllocationService(UsernameAllocationMapper usernameAllocationMapper) {
+    this.usernameAllocationMapper = usernameAllocationMapper;
+  }
+
+  /**
+   * Inserts a user named {@code base} or, if that is taken, the next free
+   * suffixed form of it.
+   *
+   * @return the inserted user with its ID and allocated username
+   * @throws IllegalArgumentException if the base is not a valid username
+   */
+  public UserDb createUserWithGeneratedUsername(String base, String authenticationMethod) {
+    AuthValidationUtil.validateUserName(base);
+
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      UserDb userDb = usernameAllocationMapper.insertUserWithAllocatedUsername(base, SUFFIX_SEPARATOR,
+          Constants.User.MAX_USERNAME_LENGTH, authenticationMethod);
+      if (userDb != null) {
+        usernameAvailabilityService.add(userDb.getUsername());
+        return userDb;
+      }
+      LOGGER.debug("Allocated username for base {} was already taken, taking the next suffix", base);
+    }
+
+    throw new ResourceAlreadyExists("Could not allocate a username for: " + base);
+  }
+
+}
@@ -0,0 +1,179 @@
+package com.prolinkli.core.app.components.user.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.prolinkli.core.app.components.user.listener.UsernameChangeNotificationListener;
+import com.prolinkli.core.app.db.mapper.custom.UsernameMapper;
+import com.prolinkli.framework.db.notify.PostgresNotificationListener;
+import com.prolinkli.framework.util.bloom.BloomFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Answers "is this username taken?" mostly from memory.
+ *
+ * A Bloom filter holds every existing username. A miss means the name is
+ * free and is answered without touching the database; only a possible hit is
+ * confirmed with an indexed EXISTS query. The filter is built from a
+ * streaming scan of users when the application is ready (or, when username
+ * changes are notified, on the listener's first resync) and kept current by
+ * {@link #add}: locally after an insert, and for other nodes through the
+ * username_changes notification. Usernames are never removed, so a deleted
+ * or renamed user only costs a confirming query.
+ *
+ * Until the first build finishes every check goes to the database. The
+ * filter is rebuilt at twice the size once it holds more names than it was
+ * sized for.
+ *
+ * Metrics: {@code username.availability.checks} tagged {@code result}
+ * (filter_miss, confirmed_taken, false_positive).
+ */
+@Service
+public class UsernameAvailabilityService implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(UsernameAvailabilityService.class);
+
+  private final UsernameMapper usernameMapper;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final Counter filterMissCounter;
+  private final Counter confirmedTakenCounter;
+  private final Counter falsePositiveCounter;
+
+  @Value("${user.username-filter.min-capacity:100000}")
+  private long minCapacity;
+
+  @Value("${user.username-filter.false-positive-probability:0.001}")
+  private double falsePositiveProbability;
+
+  private volatile BloomFilter filter;
+
+  // Filter being built; names added meanwhile go into both
+  private volatile BloomFilter building;
+
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+
+  @Autowired
+  private ObjectProvider<PostgresNotificationListener> notificationListener;
+
+  // Rebuilds triggered by an insert run here, off the request thread
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  private Executor taskExecutor;
+
+  @Autowired
+  public UsernameAvailabilityService(UsernameMapper usernameMapper, TransactionTemplate transactionTemplate,
+      MeterRegistry meterRegistry) {
+    this.usernameMapper = usernameMapper;
+    this.transactionTemplate = transactionTemplate;
+    this.filterMissCounter = counter(meterRegistry, "filter_miss");
+    this.confirmedTakenCounter = counter(meterRegistry, "confirmed_taken");
+    this.falsePositiveCounter = counter(meterRegistry, "false_positive");
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    // Otherwise the resync published on the listener's first connect builds it
+    PostgresNotificationListener listener = notificationListener.getIfAvailable();
+    if (listener == null || !listener.isListening(UsernameChangeNotificationListener.CHANNEL)) {
+      rebuildQuietly();
+    }
+  }
+
+  public boolean isAvailable(String username) {
+    return !isTaken(username);
+  }
+
+  public boolean isTaken(String username) {
+    if (username == null || username.isEmpty()) {
+      throw new IllegalArgumentException("Username cannot be null or empty");
+    }
+
+    BloomFilter current = filter;
+    if (current != null && !current.mightContain(username)) {
+      filterMissCounter.increment();
+      return false;
+    }
+
+    boolean taken = usernameMapper.existsByUsername(username);
+    if (current != null) {
+      (taken ? confirmedTakenCounter : falsePositiveCounter).increment();
+    }
+    return taken;
+  }
+
+  /**
+   * Records a username that now exists. Safe to call for names that end up
+   * rolled back; they only cost a confirming query later.
+   */
+  public void add(String username) {
+    if (username == null || username.isEmpty()) {
+      return;
+    }
+    BloomFilter pending = building;
+    if (pending != null) {
+      pending.add(username);
+    }
+    BloomFilter current = filter;
+    if (current != null) {
+      current.add(username);
+      if (current.isSaturated() && !rebuildLock.isLocked()) {
+        LOGGER.info("Username filter holds {} names (sized for {}), rebuilding", current.getInsertions(),
+            current.getExpectedInsertions());
+        // Off the inserting request's thread; rebuild() ignores concurrent calls
+        CompletableFuture.runAsync(this::rebuildQuietly, taskExecutor);
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the filter from a streaming scan of the users table, sized for
+   * twice the current number of users.
+   */
+  public void rebuild() {
+    if (!rebuildLock.tryLock()) {
+      // Another rebuild is running; names added meanwhile reach it via add()
+      return;
+    }
+    try {
+      long count = usernameMapper.countUsernames();
+      BloomFilter next = new BloomFilter(Math.max(minCapacity, count * 2), falsePositiveProbability);
+      building = next;
+      transactionTemplate.executeWithoutResult(status -> usernameMapper.scanUsernames(
+          context -> next.add(context.getResultObject())));
+      filter = next;
+      LOGGER.info("Username filter built with {} names", next.getInsertions());
+    } finally {
+      building = null;
+      rebuildLock.unlock();
+    }
+  }
+
+  private void rebuildQuietly() {
+    try {
+      rebuild();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to rebuild username filter: {}", e.getMessage());
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("username.availability.checks").tag("result", result).register(meterRegistry);
+  }
+
+}
@@ -0,0 +1,173 @@
+package com.prolinkli.core.app.components.user.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prolinkli.core.app.components.user.model.UserImportFormat;
+import com.prolinkli.core.app.components.user.model.UserImportRecord;
+
+/**
+ * Reads a bulk import upload one record at a time, so the file is never held
+ * in memory as a whole.
+ *
+ * Blank lines are skipped. A malformed line makes {@link #next()} throw
+ * {@link IllegalArgumentException} after consuming it, so the caller can
+ * report it and carry on with the next line. CSV fields may be quoted
+ * ({@code ""} escapes a quote) but may not span lines.
+ */
+public class UserImportReader {
+
+  private static final String USERNAME_FIELD = "username";
+  private static final String PASSWORD_FIELD = "password";
+
+  private final BufferedReader reader;
+  private final UserImportFormat format;
+  private final ObjectMapper objectMapper;
+
+  private long lineNumber;
+
+  // CSV only: column positions from the header row
+  private int usernameColumn = -1;
+  private int passwordColumn = -1;
+
+  private UserImportReader(InputStream input, UserImportFormat format, ObjectMapper objectMapper) {
+    this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    this.format = format;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a CSV upload has no usable header row
+   */
+  public static UserImportReader open(InputStream input, UserImportFormat format, ObjectMapper objectMapper)
+      throws IOException {
+    UserImportReader importReader = new UserImportReader(input, format, objectMapper);
+    if (format == UserImportFormat.CSV) {
+      importReader.readHeader();
+    }
+    return importReader;
+  }
+
+  /**
+   * Line number of the last line read.
+   */
+  public long getLineNumber() {
+    return lineNumber;
+  }
+
+  /**
+   * @return the next record, or null at the end of the upload
+   * @throws IllegalArgumentException if the next non-blank line is malformed
+   */
+  public UserImportRecord next() throws IOException {
+    String line = nextLine();
+    if (line == null) {
+      return null;
+    }
+    return format == UserImportFormat.CSV ? parseCsv(line) : parseJson(line);
+  }
+
+  private String nextLine() throws IOException {
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (!line.isBlank()) {
+        return line;
+      }
+    }
+    return null;
+  }
+
+  private void readHeader() throws IOException {
+    String header = nextLine();
+    if (header == null) {
+      throw new IllegalArgumentException("CSV upload is empty");
+    }
+    // Tolerate a UTF-8 byte order mark from spreadsheet exports
+    if (header.charAt(0) == '\uFEFF') {
+      header = header.substring(1);
+    }
+
+    List<String> columns = splitCsv(header);
+    for (int i = 0; i < columns.size(); i++) {
+      String column = columns.get(i).trim();
+      if (USERNAME_FIELD.equalsIgnoreCase(column)) {
+        usernameColumn = i;
+      } else if (PASSWORD_FIELD.equalsIgnoreCase(column)) {
+        passwordColumn = i;
+      }
+    }
+    if (usernameColumn < 0 || passwordColumn < 0) {
+      throw new IllegalArgumentException("CSV header must contain username and password columns");
+    }
+  }
+
+  private UserImportRecord parseCsv(String line) {
+    List<String> fields = splitCsv(line);
+    if (fields.size() <= Math.max(usernameColumn, passwordColumn)) {
+      throw new IllegalArgumentException("Expected at least " + (Math.max(usernameColumn, passwordColumn) + 1)
+          + " columns but found " + fields.size());
+    }
+    return new UserImportRecord(lineNumber, fields.get(usernameColumn).trim(), fields.get(passwordColumn));
+  }
+
+  private UserImportRecord parseJson(String line) {
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(line);
+    } catch (JsonProcessingException e) {
+      throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+    }
+    if (node == null || !node.isObject()) {
+      throw new IllegalArgumentException("Expected a JSON object");
+    }
+    return new UserImportRecord(lineNumber, text(node, USERNAME_FIELD), text(node, PASSWORD_FIELD));
+  }
+
+  private static String text(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static List<String> splitCsv(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+
+    if (quoted) {
+      throw new IllegalArgumentException("Unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+}
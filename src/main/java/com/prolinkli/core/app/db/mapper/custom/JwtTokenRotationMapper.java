@@ -0,0 +1,32 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import java.util.Date;
+
+import com.prolinkli.core.app.db.model.custom.JwtTokenRotationResultDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements for refresh-token rotation. See
+ * mapper/custom/JwtTokenRotationMapper.xml.
+ */
+public interface JwtTokenRotationMapper {
+
+  /**
+   * Atomically replaces {@code currentSecret} with {@code newSecret} for the
+   * user, keeping the token family. If {@code currentSecret} was already
+   * rotated, every live token in its family is deleted instead.
+   */
+  JwtTokenRotationResultDb rotateToken(
+      @Param("userId") Long userId,
+      @Param("currentSecret") String currentSecret,
+      @Param("newSecret") String newSecret,
+      @Param("expiresAt") Date expiresAt,
+      @Param("replayWindowEnd") Date replayWindowEnd);
+
+  /**
+   * Drops rotated secrets whose refresh tokens can no longer be presented.
+   */
+  int deleteExpiredRotations();
+
+}
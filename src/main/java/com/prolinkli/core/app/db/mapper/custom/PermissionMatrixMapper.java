@@ -0,0 +1,22 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import java.util.List;
+
+import com.prolinkli.core.app.db.model.custom.PermissionLevelDb;
+import com.prolinkli.core.app.db.model.custom.RolePermissionGrantDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements loading the role/permission tables for the
+ * compiled permission matrix. See mapper/custom/PermissionMatrixMapper.xml.
+ */
+public interface PermissionMatrixMapper {
+
+  List<RolePermissionGrantDb> selectRolePermissionGrants();
+
+  List<RolePermissionGrantDb> selectRolePermissionGrantsByRoleId(@Param("roleId") String roleId);
+
+  List<PermissionLevelDb> selectPermissionLevels();
+
+}
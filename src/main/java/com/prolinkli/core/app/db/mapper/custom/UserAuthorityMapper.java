@@ -0,0 +1,19 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import java.util.List;
+
+import com.prolinkli.core.app.db.model.custom.UserAuthorityDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements resolving a user's roles and permissions. See
+ * mapper/custom/UserAuthorityMapper.xml.
+ */
+public interface UserAuthorityMapper {
+
+  List<UserAuthorityDb> selectUserAuthorities(@Param("userId") Long userId);
+
+  List<String> selectActiveRoleIds(@Param("userId") Long userId);
+
+}
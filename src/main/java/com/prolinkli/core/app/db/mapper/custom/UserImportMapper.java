@@ -0,0 +1,24 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import java.util.List;
+
+import com.prolinkli.core.app.db.model.custom.UserImportRowDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements for bulk user import. See
+ * mapper/custom/UserImportMapper.xml.
+ */
+public interface UserImportMapper {
+
+  /**
+   * Inserts a batch of password users and their password hashes in one
+   * statement. Rows whose username is already taken are skipped.
+   *
+   * @return the usernames that were inserted
+   */
+  List<String> insertPasswordUsers(@Param("rows") List<UserImportRowDb> rows,
+      @Param("authenticationMethod") String authenticationMethod);
+
+}
@@ -0,0 +1,15 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import com.prolinkli.core.app.db.model.generated.UserDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements resolving an OAuth identity to its user. See
+ * mapper/custom/UserOAuthIdentityMapper.xml.
+ */
+public interface UserOAuthIdentityMapper {
+
+  UserDb selectUserByOAuthIdentity(@Param("provider") String provider, @Param("subject") String subject);
+
+}
@@ -0,0 +1,28 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import java.util.Date;
+
+import com.prolinkli.core.app.db.model.generated.UserDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements for user registration. See
+ * mapper/custom/UserRegistrationMapper.xml.
+ */
+public interface UserRegistrationMapper {
+
+  /**
+   * Inserts a password user, their password hash and their first token
+   * secret in one statement.
+   *
+   * @return the inserted user, or null if the username is already taken (in
+   *         which case nothing is written)
+   */
+  UserDb insertPasswordUser(@Param("username") String username,
+      @Param("authenticationMethod") String authenticationMethod,
+      @Param("passwordHash") String passwordHash,
+      @Param("tokenSecret") String tokenSecret,
+      @Param("expiresAt") Date expiresAt);
+
+}
@@ -0,0 +1,25 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import com.prolinkli.core.app.db.model.generated.UserDb;
+
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * Hand-written statements allocating generated usernames. See
+ * mapper/custom/UsernameAllocationMapper.xml.
+ */
+public interface UsernameAllocationMapper {
+
+  /**
+   * Reserves the next free name for {@code base} and inserts the user with it,
+   * in one statement.
+   *
+   * @return the inserted user, or null if the allocated name was already taken
+   *         by a name that was not allocated through username_suffixes
+   */
+  UserDb insertUserWithAllocatedUsername(@Param("base") String base,
+      @Param("separator") String separator,
+      @Param("maxLength") int maxLength,
+      @Param("authenticationMethod") String authenticationMethod);
+
+}
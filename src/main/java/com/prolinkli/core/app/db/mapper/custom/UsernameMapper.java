@@ -0,0 +1,22 @@
+package com.prolinkli.core.app.db.mapper.custom;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+/**
+ * Hand-written statements for username availability checks. See
+ * mapper/custom/UsernameMapper.xml.
+ */
+public interface UsernameMapper {
+
+  long countUsernames();
+
+  /**
+   * Streams every username to the handler with a server-side cursor. Must run
+   * inside a transaction for the driver to fetch in batches.
+   */
+  void scanUsernames(ResultHandler<String> handler);
+
+  boolean existsByUsername(@Param("username") String username);
+
+}
@@ -0,0 +1,23 @@
+package com.prolinkli.core.app.db.model.custom;
+
+import com.prolinkli.framework.db.base.DbModel;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Outcome of a single refresh-token rotation statement.
+ *
+ * {@code issued} is 1 when the presented secret was live and has been replaced.
+ * {@code revokedSecrets} is non-empty when the presented secret had already
+ * been rotated, i.e. the refresh token was replayed and its family revoked.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class JwtTokenRotationResultDb extends DbModel {
+
+  private Integer issued;
+
+  private String[] revokedSecrets;
+
+}
@@ -0,0 +1,19 @@
+package com.prolinkli.core.app.db.model.custom;
+
+import com.prolinkli.framework.db.base.DbModel;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A permissions_levels_lk row: level name and its bitwise value.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class PermissionLevelDb extends DbModel {
+
+  private String permissionLevelLk;
+
+  private Integer levelValue;
+
+}
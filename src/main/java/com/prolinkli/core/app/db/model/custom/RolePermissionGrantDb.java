@@ -0,0 +1,24 @@
+package com.prolinkli.core.app.db.model.custom;
+
+import com.prolinkli.framework.db.base.DbModel;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One role_permissions row with its level resolved to the bitwise value.
+ * Target and level are null for permissions that do not use them.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class RolePermissionGrantDb extends DbModel {
+
+  private String roleId;
+
+  private String permissionLk;
+
+  private String permissionTargetLk;
+
+  private Integer levelValue;
+
+}
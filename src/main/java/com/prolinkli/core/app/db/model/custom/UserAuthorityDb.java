@@ -0,0 +1,24 @@
+package com.prolinkli.core.app.db.model.custom;
+
+import com.prolinkli.framework.db.base.DbModel;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One row of a user's active roles joined to the permissions granted to
+ * those roles. Permission columns are null for roles without grants.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class UserAuthorityDb extends DbModel {
+
+  private String roleId;
+
+  private String permissionLk;
+
+  private String permissionTargetLk;
+
+  private Integer levelValue;
+
+}
@@ -0,0 +1,25 @@
+package com.prolinkli.core.app.db.model.custom;
+
+import com.prolinkli.framework.db.base.DbModel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * One row of a bulk user import batch, with its password already hashed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+public class UserImportRowDb extends DbModel {
+
+  private String username;
+
+  @ToString.Exclude
+  private String passwordHash;
+
+}
@@ -0,0 +1,39 @@
+package com.prolinkli.framework.auth.listener;
+
+import com.prolinkli.framework.auth.providers.GoogleOAuth2Provider;
+import com.prolinkli.framework.config.secrets.event.SecretChangedEvent;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the Google ID token verifier when the OAuth client ID changes.
+ *
+ * The client secret and redirect URI need no handling here: the token
+ * exchange reads them from the SecretsManager on every call, and the cache
+ * already holds the new values when this event is published.
+ */
+@Component
+public class GoogleOAuthSecretChangedListener implements ApplicationListener<SecretChangedEvent> {
+
+  private final static Logger LOGGER = LoggerFactory.getLogger(GoogleOAuthSecretChangedListener.class);
+
+  private static final String GOOGLE_PATH = "oauth/google";
+
+  @Autowired
+  private GoogleOAuth2Provider googleOAuth2Provider;
+
+  @Override
+  public void onApplicationEvent(SecretChangedEvent event) {
+
+    if (event.affects(GOOGLE_PATH, "GOOGLE_OAUTH_CLIENT_ID")) {
+      LOGGER.info("Google OAuth client ID changed (version {}), rebuilding ID token verifier", event.getVersion());
+      googleOAuth2Provider.rotateVerifier();
+    }
+
+  }
+
+}
@@ -75,8 +75,27 @@ public interface AuthProvider {
    * Creates a new user based on the provided UserAuthenticationForm.
    * This method is used to create a new user in the system.
    *
+   * Providers that can issue the first tokens while creating the user (in the
+   * same statement, say) return them on the AuthorizedUser; the others return
+   * it without an auth token and the caller logs the new user in.
+   *
    * @param userAuthForm the UserAuthenticationForm containing user details
+   * @return the created user, with JWT tokens if the provider issued them
+   * @see #createsUserAtomically()
+   */
+  AuthorizedUser createUser(UserAuthenticationForm userAuthForm, Dao<UserDb, Long> dao);
+
+  /**
+   * Whether {@link #createUser} writes the user, their credentials and their
+   * first tokens atomically on its own and returns the user signed in. The
+   * caller then runs it outside any transaction, so slow work done before
+   * the write (hashing a password, say) does not hold a database connection.
+   * Otherwise the caller wraps the creation and the login in one transaction.
+   *
+   * @return true if createUser needs no surrounding transaction
    */
-  void createUser(UserAuthenticationForm userAuthForm, Dao<UserDb, Long> dao);
+  default boolean createsUserAtomically() {
+    return false;
+  }
 
 }
@@ -0,0 +1,18 @@
+package com.prolinkli.framework.auth.model;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a controller method (or every method of a controller) as reachable
+ * without authentication. The JWT filter skips these routes entirely; if the
+ * method still takes a {@link CurrentUser} parameter, the token is only
+ * verified when that parameter is resolved.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PublicEndpoint {
+
+}
@@ -2,23 +2,24 @@ package com.prolinkli.framework.auth.providers;
 
 import java.io.IOException;
 import java.security.GeneralSecurityException;
-import java.util.Collections;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdToken;
 import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
-import com.google.api.client.http.javanet.NetHttpTransport;
-import com.google.api.client.json.gson.GsonFactory;
 import com.prolinkli.core.app.Constants;
 import com.prolinkli.core.app.Constants.AuthenticationKeys;
 import com.prolinkli.core.app.Constants.LkUserAuthenticationMethods;
+import com.prolinkli.core.app.components.user.model.AuthorizedUser;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.components.user.model.UserAuthenticationForm;
-import com.prolinkli.core.app.components.user.service.UserGetService;
+import com.prolinkli.core.app.components.user.service.UsernameAllocationService;
 import com.prolinkli.core.app.db.model.generated.UserDb;
 import com.prolinkli.framework.auth.model.AuthProvider;
 import com.prolinkli.framework.auth.service.GoogleOAuth2Service;
-import com.prolinkli.framework.auth.util.AuthValidationUtil;
+import com.prolinkli.framework.auth.service.GooglePublicKeysService;
 import com.prolinkli.framework.auth.util.OAuthUsernameUtil;
 import com.prolinkli.framework.config.secrets.SecretsManager;
 import com.prolinkli.framework.db.dao.Dao;
@@ -27,6 +28,7 @@ import com.prolinkli.framework.exception.exceptions.model.ResourceNotFoundExcept
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -53,7 +55,7 @@ import org.springframework.stereotype.Component;
  * 
  * Dependencies:
  * - SecretsManager: For Google OAuth2 client credentials
- * - UserGetService: For existing user lookup operations
+ * - UsernameAllocationService: For collision-free username allocation
  * - GoogleOAuth2Service: For OAuth account relationship management
  * - AuthValidationUtil: For username validation rules
  * - OAuthUsernameUtil: For secure username generation
@@ -70,16 +72,24 @@ public class GoogleOAuth2Provider implements AuthProvider {
   private SecretsManager secretsManager;
 
   @Autowired
-  private UserGetService userGetService;
+  private UsernameAllocationService usernameAllocationService;
 
   @Autowired
   private GoogleOAuth2Service googleOAuth2Service;
 
+  @Autowired
+  private GooglePublicKeysService googlePublicKeysService;
+
+  @Value("${secrets.rotation.overlap-seconds:7200}")
+  private long overlapSeconds;
+
   /**
    * Google ID token verifier instance for token validation.
-   * Lazily initialized on first use with proper audience configuration.
+   * Lazily initialized on first use with proper audience configuration, and
+   * swapped atomically when the client ID is rotated. Verifiers share the
+   * background-refreshed signing certificates, so verification is local.
    */
-  private GoogleIdTokenVerifier verifier;
+  private final AtomicReference<VerifierState> verifierState = new AtomicReference<>();
 
   /**
    * Returns the Google OAuth2 provider name identifier.
@@ -169,18 +179,18 @@ public class GoogleOAuth2Provider implements AuthProvider {
    * User creation process:
    * 1. Extracts user information from Google ID token payload
    * 2. Validates required fields (email, Google user ID) are present
-   * 3. Generates unique system username using email and OAuth ID
-   * 4. Checks for existing users to prevent duplicates
-   * 5. Validates username against system requirements
-   * 6. Creates user record in database with OAuth authentication method
-   * 7. Links Google OAuth account to newly created user
-   * 8. Logs successful creation with user details
+   * 3. Generates a base username from email and OAuth ID
+   * 4. Validates the base against system requirements
+   * 5. Reserves a free variant of it and creates the user record with the
+   *    OAuth authentication method, in one statement
+   * 6. Links Google OAuth account to newly created user
+   * 7. Logs successful creation with user details
    * 
    * Username generation ensures uniqueness and compliance with system constraints
    * while maintaining traceability to the original Google account.
    */
   @Override
-  public void createUser(UserAuthenticationForm user, Dao<UserDb, Long> dao) {
+  public AuthorizedUser createUser(UserAuthenticationForm user, Dao<UserDb, Long> dao) {
     try {
       // Extract user information from Google ID token
       String idToken = user.getSpecialToken();
@@ -197,38 +207,17 @@ public class GoogleOAuth2Provider implements AuthProvider {
         throw new IllegalArgumentException("Google ID token does not contain required user information");
       }
 
-      // Generate system username
-      String systemUsername = OAuthUsernameUtil.generateOAuthUsername(email, googleUserId);
-      user.setUsername(systemUsername);
-
-      // Check if user already exists
-      User foundUser = null;
-      try {
-        foundUser = userGetService.getUserByUsername(systemUsername);
-      } catch (IllegalArgumentException e) {
-        // User does not exist, proceed with creation.
-      }
-
-      if (foundUser != null) {
-        throw new IllegalArgumentException("User already exists with username: " + systemUsername);
-      }
+      // Generate the base username; the allocator picks a free variant of it
+      // and inserts the user in the same statement
+      String baseUsername = OAuthUsernameUtil.generateOAuthUsername(email, googleUserId);
 
-      AuthValidationUtil.validateUserName(systemUsername);
-
-      // Insert the user into the database
-      UserDb userDb = new UserDb();
-      userDb.setUsername(systemUsername);
-      userDb.setAuthenticationMethod(user.getAuthenticationMethodLk().toUpperCase());
-
-      LOGGER.debug("Inserting OAuth user into database: {}", systemUsername);
-      dao.insert(userDb);
-
-      // Verify that the insert was successful and ID was generated
-      if (userDb.getId() == null) {
-        throw new RuntimeException("Database insert failed - no ID was generated for user: " + systemUsername);
-      }
+      LOGGER.debug("Inserting OAuth user into database: {}", baseUsername);
+      UserDb userDb = usernameAllocationService.createUserWithGeneratedUsername(baseUsername,
+          user.getAuthenticationMethodLk().toUpperCase());
+      String systemUsername = userDb.getUsername();
 
       user.setId(userDb.getId());
+      user.setUsername(systemUsername);
 
       // insert credentials for the OAuth user
       insertCredentialsForUser(user, Map.of(
@@ -239,7 +228,8 @@ public class GoogleOAuth2Provider implements AuthProvider {
       // The OAuth provider handles authentication
       LOGGER.info("Successfully created OAuth user: {}:{} with email: {}", user.getId(), systemUsername, email);
 
-      return;
+      // No tokens yet; the caller logs the new user in
+      return new AuthorizedUser(user);
 
     } catch (Exception e) {
       // Rollback the user creation if anything fails
@@ -318,20 +308,49 @@ public class GoogleOAuth2Provider implements AuthProvider {
       throw new IllegalArgumentException("Invalid ID token format");
     }
 
-    if (verifier == null) {
-      verifier = new GoogleIdTokenVerifier.Builder(new NetHttpTransport(), new GsonFactory())
-          .setAudience(Collections.singletonList(secretsManager.getGoogleClientId()))
-          .build();
-    }
-
     try {
-      return verifier.verify(idTokenString);
+      return getVerifier().verify(idTokenString);
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException("Failed to verify Google ID token: " + e.getMessage()
           + ". Please ensure the token is valid and not expired.");
     }
   }
 
+  /**
+   * Rebuilds the verifier after the client ID changed. ID tokens issued for
+   * the previous client ID keep verifying until the overlap window ends.
+   */
+  public void rotateVerifier() {
+    String clientId = secretsManager.getGoogleClientId();
+    verifierState.updateAndGet(current -> {
+      if (current == null || current.clientId.equals(clientId)) {
+        return newVerifierState(clientId, null, null);
+      }
+      return newVerifierState(clientId, current.clientId, Instant.now().plusSeconds(overlapSeconds));
+    });
+  }
+
+  private GoogleIdTokenVerifier getVerifier() {
+    return verifierState.updateAndGet(current -> {
+      if (current == null) {
+        return newVerifierState(secretsManager.getGoogleClientId(), null, null);
+      }
+      if (current.previousUntil != null && Instant.now().isAfter(current.previousUntil)) {
+        // Overlap window ended; stop accepting the previous client ID
+        return newVerifierState(current.clientId, null, null);
+      }
+      return current;
+    }).verifier;
+  }
+
+  private VerifierState newVerifierState(String clientId, String previousClientId, Instant previousUntil) {
+    List<String> audience = previousClientId == null ? List.of(clientId) : List.of(clientId, previousClientId);
+    GoogleIdTokenVerifier verifier = new GoogleIdTokenVerifier.Builder(googlePublicKeysService.getPublicKeysManager())
+        .setAudience(audience)
+        .build();
+    return new VerifierState(verifier, clientId, previousUntil);
+  }
+
   @Override
   public User getUserFromCredentials(UserAuthenticationForm userAuthForm) {
     try {
@@ -367,4 +386,20 @@ public class GoogleOAuth2Provider implements AuthProvider {
     return parts.length == 3 && parts[0] != null && !parts[0].trim().isEmpty()
         && parts[1] != null && !parts[1].trim().isEmpty() && parts[2] != null && !parts[2].trim().isEmpty();
   }
+
+  /**
+   * A verifier together with the client IDs it accepts.
+   */
+  private static final class VerifierState {
+
+    private final GoogleIdTokenVerifier verifier;
+    private final String clientId;
+    private final Instant previousUntil;
+
+    private VerifierState(GoogleIdTokenVerifier verifier, String clientId, Instant previousUntil) {
+      this.verifier = verifier;
+      this.clientId = clientId;
+      this.previousUntil = previousUntil;
+    }
+  }
 }
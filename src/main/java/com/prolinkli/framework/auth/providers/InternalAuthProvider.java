@@ -4,10 +4,13 @@ import java.util.Map;
 
 import com.prolinkli.core.app.Constants.AuthenticationKeys;
 import com.prolinkli.core.app.Constants.LkUserAuthenticationMethods;
+import com.prolinkli.core.app.components.user.model.AuthorizedUser;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.components.user.model.UserAuthenticationForm;
 import com.prolinkli.core.app.components.user.model.UserPassword;
 import com.prolinkli.core.app.components.user.service.UserGetService;
+import com.prolinkli.core.app.components.user.service.UsernameAvailabilityService;
+import com.prolinkli.core.app.db.mapper.custom.UserRegistrationMapper;
 import com.prolinkli.core.app.db.model.generated.UserDb;
 import com.prolinkli.framework.auth.model.AuthProvider;
 import com.prolinkli.framework.auth.service.InternalAuthService;
@@ -16,11 +19,16 @@ import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.exception.exceptions.model.InvalidCredentialsException;
 import com.prolinkli.framework.exception.exceptions.model.ResourceAlreadyExists;
 import com.prolinkli.framework.exception.exceptions.model.ResourceNotFoundException;
-import com.prolinkli.framework.hash.Hasher;
+import com.prolinkli.framework.hash.service.PasswordHashService;
+import com.prolinkli.framework.jwt.model.AuthToken;
+import com.prolinkli.framework.jwt.service.JwtCreateService;
+import com.prolinkli.framework.jwt.util.JwtUtil;
+import com.prolinkli.framework.permission.model.UserAuthorities;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -31,9 +39,24 @@ public class InternalAuthProvider implements AuthProvider {
   @Autowired
   private UserGetService userGetService;
 
+  @Autowired
+  private UsernameAvailabilityService usernameAvailabilityService;
+
   @Autowired
   private InternalAuthService internalAuthService;
 
+  @Autowired
+  private PasswordHashService passwordHashService;
+
+  @Autowired
+  private JwtCreateService jwtCreateService;
+
+  @Autowired
+  private UserRegistrationMapper userRegistrationMapper;
+
+  @Value("${jwt.expiration:3600}")
+  private long jwtExpiration;
+
   @Override
   public String getProviderName() {
     return LkUserAuthenticationMethods.PASSWORD;
@@ -50,50 +73,73 @@ public class InternalAuthProvider implements AuthProvider {
     }
     String password = credentials.get(AuthenticationKeys.PASSWORD.PASSWORD).toString();
 
-    if (!Hasher.verifyString(password, user.getPassword())) {
+    // Runs on the bounded hashing pool, never on the request thread
+    if (!passwordHashService.verify(password, user.getPassword())) {
       throw new InvalidCredentialsException("Invalid password for the provided username");
     }
 
+    // Upgrade hashes made with an older algorithm or weaker parameters
+    if (passwordHashService.needsRehash(user.getPassword())) {
+      internalAuthService.rehashCredentialsAsync(user.getUser().getId(), password, user.getPassword());
+    }
+
     return true;
   }
 
+  /**
+   * Creates a password user and signs them in.
+   *
+   * The user, their password hash and their first token secret are written in
+   * one statement (see UserRegistrationMapper.xml), instead of three inserts
+   * and a full login. The password is hashed once and not verified again
+   * right after. The hash and the token secret are made before the statement,
+   * and nothing here opens a transaction, so no connection is held while the
+   * hash runs.
+   */
   @Override
-  public void createUser(UserAuthenticationForm user, Dao<UserDb, Long> dao) {
-    User foundUser = null;
-    try {
-      foundUser = userGetService.getUserByUsername(user.getUsername());
-    } catch (IllegalArgumentException e) {
-      // User does not exist, proceed with creation.
+  public AuthorizedUser createUser(UserAuthenticationForm user, Dao<UserDb, Long> dao) {
+    AuthValidationUtil.validateUserName(user.getUsername());
+
+    String password = user.getSpecialToken();
+    if (password == null || password.isEmpty()) {
+      throw new IllegalArgumentException("Password cannot be null or empty");
     }
 
-    if (foundUser != null) {
+    // Answered from memory for free names; rejects a taken name before
+    // spending a hash on it
+    if (usernameAvailabilityService.isTaken(user.getUsername())) {
       throw new ResourceAlreadyExists("User already exists with username: " + user.getUsername());
     }
 
-    AuthValidationUtil.validateUserName(user.getUsername());
-
-    Map<String, Object> credentials = Map.of(
-        AuthenticationKeys.PASSWORD.USERNAME, user.getUsername(),
-        AuthenticationKeys.PASSWORD.PASSWORD, user.getSpecialToken());
-
-    // Insert the user into the database.
-    UserDb userDb = new UserDb();
-    userDb.setUsername(user.getUsername());
-    userDb.setAuthenticationMethod(user.getAuthenticationMethodLk().toUpperCase());
+    String passwordHash = passwordHashService.hash(password);
+    String tokenSecret = jwtCreateService.generateTokenSecret();
 
     LOGGER.debug("Inserting password user into database: {}", user.getUsername());
-    dao.insert(userDb);
-
-    // Verify that the insert was successful and ID was generated
-    if (userDb.getId() == null) {
-      throw new RuntimeException("Database insert failed - no ID was generated for user: " + user.getUsername());
+    UserDb userDb = userRegistrationMapper.insertPasswordUser(
+        user.getUsername(),
+        user.getAuthenticationMethodLk().toUpperCase(),
+        passwordHash,
+        tokenSecret,
+        JwtUtil.getExpirationDate(jwtExpiration));
+
+    // Lost a race with another signup for the same name
+    if (userDb == null) {
+      throw new ResourceAlreadyExists("User already exists with username: " + user.getUsername());
     }
 
     user.setId(userDb.getId());
+    usernameAvailabilityService.add(userDb.getUsername());
+
+    // A brand new user has no roles yet, so there is nothing to look up
+    User created = new User(userDb.getId(), userDb.getUsername());
+    AuthToken jwtTokens = jwtCreateService.createJwtTokensForUser(created, Map.of(), tokenSecret,
+        new UserAuthorities());
+    return new AuthorizedUser(created, jwtTokens);
+  }
 
-    validateCredentials(credentials);
-    // Insert the credentials for the user.
-    insertCredentialsForUser(user, credentials);
+  @Override
+  public boolean createsUserAtomically() {
+    return true;
   }
 
   @Override
@@ -3,6 +3,7 @@ package com.prolinkli.framework.auth.providers;
 import java.util.Map;
 
 import com.prolinkli.core.app.Constants.OAuth2ProvidersLks;
+import com.prolinkli.core.app.components.user.model.AuthorizedUser;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.components.user.model.UserAuthenticationForm;
 import com.prolinkli.core.app.db.model.generated.UserDb;
@@ -45,7 +46,7 @@ class MicrosoftOAuth2Provider implements AuthProvider {
   }
 
   @Override
-  public void createUser(UserAuthenticationForm userAuthForm, Dao<UserDb, Long> dao) {
+  public AuthorizedUser createUser(UserAuthenticationForm userAuthForm, Dao<UserDb, Long> dao) {
     // TODO Auto-generated method stub
     throw new UnsupportedOperationException("Unimplemented method 'createUser'");
   }
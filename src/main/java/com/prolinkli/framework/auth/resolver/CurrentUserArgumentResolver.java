@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -17,7 +18,10 @@ import com.prolinkli.core.app.components.user.model.AuthorizedUser;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.framework.auth.model.CurrentUser;
 import com.prolinkli.framework.jwt.model.AuthToken;
-import com.prolinkli.framework.jwt.model.AuthToken.AuthTokenBuilder;
+import com.prolinkli.framework.jwt.service.JwtAuthenticationService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Component
 public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
@@ -27,12 +31,23 @@ public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolve
   @Autowired
   private UserGetService userGetService;
 
+  @Autowired
+  private JwtAuthenticationService jwtAuthenticationService;
+
   @Override
   public Object resolveArgument(MethodParameter arg0, ModelAndViewContainer arg1, NativeWebRequest arg2,
       WebDataBinderFactory arg3) throws Exception {
 
     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
+    // Routes whose only use of the principal is @CurrentUser are skipped by
+    // the JWT filter; verify the token now that it is actually needed.
+    if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+      authentication = jwtAuthenticationService.authenticate(
+          arg2.getNativeRequest(HttpServletRequest.class),
+          arg2.getNativeResponse(HttpServletResponse.class));
+    }
+
     if (authentication == null || !authentication.isAuthenticated()) {
       LOGGER.debug("Current user authentication not found");
       return null;
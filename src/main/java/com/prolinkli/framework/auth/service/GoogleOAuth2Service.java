@@ -1,31 +1,50 @@
 package com.prolinkli.framework.auth.service;
 
+import java.time.Duration;
 import java.util.Map;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.prolinkli.core.app.Constants.LkUserAuthenticationMethods;
 import com.prolinkli.core.app.components.user.model.User;
-import com.prolinkli.core.app.components.user.service.UserGetService;
+import com.prolinkli.core.app.components.user.provider.UserProvider;
+import com.prolinkli.core.app.db.mapper.custom.UserOAuthIdentityMapper;
+import com.prolinkli.core.app.db.model.generated.UserDb;
 import com.prolinkli.core.app.db.model.generated.UserOAuthAccountDb;
-import com.prolinkli.core.app.db.model.generated.UserOAuthAccountDbExample;
 import com.prolinkli.core.app.db.model.generated.UserOAuthAccountDbKey;
 import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.db.dao.DaoFactory;
 import com.prolinkli.framework.exception.exceptions.model.ResourceNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GoogleOAuth2Service {
 
-  @Autowired
-  private UserGetService userGetService;
-
   private final Dao<UserOAuthAccountDb, UserOAuthAccountDbKey> dao;
 
+  private final UserOAuthIdentityMapper userOAuthIdentityMapper;
+
+  private final UserProvider userProvider = new UserProvider();
+
+  /**
+   * (provider, subject) -> user. Only hits are cached so a user created right
+   * after a miss is found on the next login.
+   */
+  private final Cache<String, User> identityCache;
+
   @Autowired
-  public GoogleOAuth2Service(DaoFactory daoFactory) {
+  public GoogleOAuth2Service(DaoFactory daoFactory, UserOAuthIdentityMapper userOAuthIdentityMapper,
+      @Value("${oauth.identity-cache.ttl-seconds:60}") long cacheTtlSeconds,
+      @Value("${oauth.identity-cache.max-size:10000}") long cacheMaxSize) {
     this.dao = daoFactory.getDao(UserOAuthAccountDb.class, UserOAuthAccountDbKey.class);
+    this.userOAuthIdentityMapper = userOAuthIdentityMapper;
+    this.identityCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+        .maximumSize(cacheMaxSize)
+        .build();
   }
 
   public User getUserByOAuthId(String oAuthId) {
@@ -34,17 +53,33 @@ public class GoogleOAuth2Service {
       throw new IllegalArgumentException("OAuth ID cannot be null or empty");
     }
 
-    UserOAuthAccountDbExample example = new UserOAuthAccountDbExample();
-    example.createCriteria()
-        .andOauthProviderEqualTo(LkUserAuthenticationMethods.GOOGLE_OAUTH2)
-        .andOauthUserIdEqualTo(oAuthId);
+    String cacheKey = cacheKey(LkUserAuthenticationMethods.GOOGLE_OAUTH2, oAuthId);
+    User cached = identityCache.getIfPresent(cacheKey);
+    if (cached != null) {
+      return cached;
+    }
 
-    UserOAuthAccountDb userOAuthAccountDb = dao.select(example).stream()
-        .findFirst()
-        .orElseThrow(() -> new ResourceNotFoundException("User not found with OAuth ID: " + oAuthId));
+    UserDb userDb = userOAuthIdentityMapper.selectUserByOAuthIdentity(LkUserAuthenticationMethods.GOOGLE_OAUTH2,
+        oAuthId);
+    if (userDb == null) {
+      throw new ResourceNotFoundException("User not found with OAuth ID: " + oAuthId);
+    }
+
+    User user = userProvider.map(userDb);
+    identityCache.put(cacheKey, user);
+    return user;
 
-    return userGetService.getUserById(userOAuthAccountDb.getUserId());
+  }
+
+  /**
+   * Drops a cached identity, e.g. after the link or the user was removed.
+   */
+  public void evictOAuthIdentity(String oAuthId) {
+    identityCache.invalidate(cacheKey(LkUserAuthenticationMethods.GOOGLE_OAUTH2, oAuthId));
+  }
 
+  private static String cacheKey(String provider, String subject) {
+    return provider + ":" + subject;
   }
 
   public void insertUserOAuthRelationship(Map<String, Object> params) {
@@ -69,6 +104,7 @@ public class GoogleOAuth2Service {
     userOAuthAccountDb.setUserId(userId);
 
     dao.insert(userOAuthAccountDb);
+    evictOAuthIdentity(oAuthId);
 
   }
 }
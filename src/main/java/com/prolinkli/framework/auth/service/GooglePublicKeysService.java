@@ -0,0 +1,83 @@
+package com.prolinkli.framework.auth.service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps Google's ID token signing certificates fresh in the background.
+ *
+ * GooglePublicKeysManager caches the certificates for the Cache-Control
+ * max-age, but refreshes them on the calling thread once they are within
+ * five minutes of expiry. Refreshing here {@code google.oauth.certs.refresh-ahead-seconds}
+ * before expiry means ID token verification never waits on Google and stays
+ * a local signature check.
+ */
+@Service
+public class GooglePublicKeysService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GooglePublicKeysService.class);
+
+  private final GooglePublicKeysManager publicKeysManager;
+
+  @Value("${google.oauth.certs.refresh-ahead-seconds:600}")
+  private long refreshAheadSeconds;
+
+  @Value("${google.oauth.certs.retry-seconds:30}")
+  private long retrySeconds;
+
+  private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "google-certs-refresh");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  @Autowired
+  public GooglePublicKeysService(GooglePublicKeysManager publicKeysManager) {
+    this.publicKeysManager = publicKeysManager;
+  }
+
+  @PostConstruct
+  void init() {
+    // Load in the background so startup does not depend on Google
+    refresher.execute(this::refresh);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  public GooglePublicKeysManager getPublicKeysManager() {
+    return publicKeysManager;
+  }
+
+  private void refresh() {
+    long delaySeconds;
+    try {
+      publicKeysManager.refresh();
+      long expiresInSeconds = (publicKeysManager.getExpirationTimeMilliseconds() - System.currentTimeMillis()) / 1000;
+      delaySeconds = Math.max(retrySeconds, expiresInSeconds - refreshAheadSeconds);
+      LOGGER.debug("Refreshed Google signing certificates, next refresh in {}s", delaySeconds);
+    } catch (Exception e) {
+      delaySeconds = retrySeconds;
+      LOGGER.warn("Failed to refresh Google signing certificates, retrying in {}s: {}", delaySeconds, e.getMessage());
+    }
+
+    if (!refresher.isShutdown()) {
+      refresher.schedule(this::refresh, delaySeconds, TimeUnit.SECONDS);
+    }
+  }
+
+}
@@ -3,21 +3,39 @@ package com.prolinkli.framework.auth.service;
 import com.prolinkli.core.app.components.user.model.UserPassword;
 import com.prolinkli.core.app.components.user.service.UserGetService;
 import com.prolinkli.core.app.db.model.generated.UserPasswordDb;
+import com.prolinkli.core.app.db.model.generated.UserPasswordDbExample;
 import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.db.dao.DaoFactory;
-import com.prolinkli.framework.hash.Hasher;
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
+import com.prolinkli.framework.hash.service.PasswordHashService;
 
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 @Service
 public class InternalAuthService {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(InternalAuthService.class);
+
   private final Dao<UserPasswordDb, Long> dao;
 
   @Autowired
   private UserGetService userGetService;
 
+  @Autowired
+  private PasswordHashService passwordHashService;
+
+  // Database write-backs run here, not on the hashing pool
+  @Autowired
+  @Qualifier("applicationTaskExecutor")
+  private Executor taskExecutor;
+
   @Autowired
   public InternalAuthService(DaoFactory daoFactory) {
     this.dao = daoFactory.getDao(UserPasswordDb.class, Long.class);
@@ -48,10 +66,53 @@ public class InternalAuthService {
     //REPLACE BY PROVIDER
     UserPasswordDb userPasswordDb = new UserPasswordDb();
     userPasswordDb.setUserId(userId);
-    userPasswordDb.setPasswordHash(Hasher.hashString(credentials.getPassword()));
+    userPasswordDb.setPasswordHash(passwordHashService.hash(credentials.getPassword()));
 
     dao.insert(userPasswordDb);
+    userGetService.evictUser(userId);
+
+  }
 
+  /**
+   * Replaces an outdated password hash in the background after a successful
+   * login. The write only happens if the stored hash is still the one that
+   * was verified, so a concurrent password change is never overwritten.
+   * Skipped silently when the hashing pool is busy; the next login retries.
+   * Only the hash runs on the hashing pool; the write runs on the application
+   * task executor so database latency never holds a hashing worker.
+   *
+   * @param userId      the user whose hash is upgraded
+   * @param password    the plaintext password that was just verified
+   * @param currentHash the stored hash that was verified
+   */
+  public void rehashCredentialsAsync(Long userId, String password, String currentHash) {
+    try {
+      passwordHashService.hashAsync(password)
+          .thenAcceptAsync(newHash -> replacePasswordHash(userId, currentHash, newHash), taskExecutor)
+          .exceptionally(e -> {
+            LOGGER.warn("Failed to rehash password for user ID {}: {}", userId, e.getMessage());
+            return null;
+          });
+    } catch (ServiceOverloadedException e) {
+      LOGGER.debug("Hashing pool busy, deferring rehash for user ID {}", userId);
+    }
+  }
+
+  private void replacePasswordHash(Long userId, String currentHash, String newHash) {
+    UserPasswordDb stored = dao.select(userId);
+    if (stored == null || !Objects.equals(stored.getPasswordHash(), currentHash)) {
+      return;
+    }
+    stored.setPasswordHash(newHash);
+
+    UserPasswordDbExample example = new UserPasswordDbExample();
+    example.createCriteria()
+        .andUserIdEqualTo(userId)
+        .andPasswordHashEqualTo(currentHash);
+    if (dao.update(stored, example) > 0) {
+      userGetService.evictUser(userId);
+      LOGGER.info("Upgraded password hash for user ID {}", userId);
+    }
   }
 
   
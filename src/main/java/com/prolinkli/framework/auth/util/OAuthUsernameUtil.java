@@ -47,54 +47,69 @@ public class OAuthUsernameUtil {
    * 1. Validates input parameters are not null or empty
    * 2. Extracts email local part (text before @)
    * 3. Normalizes email to lowercase, removes special characters
-   * 4. Truncates OAuth ID to max 10 characters, removes special characters
+   * 4. Normalizes OAuth ID the same way and keeps at most 10 characters
    * 5. Combines email and OAuth ID components
    * 6. Truncates alternately if combined length exceeds 30 characters
    * 7. Returns final username string
    * 
+   * Each part is normalized in a single pass over its characters; no regular
+   * expressions or intermediate strings are involved.
+   * 
    * Examples:
    * - email="john.doe@example.com", oauthId="123456789" → "johndoe123456789"
-   * - email="user@test.com", oauthId="verylongid" → "userverylongi" (truncated)
+   * - email="user@test.com", oauthId="verylongid" → "userverylongid"
+   * 
+   * Character filtering removes everything except ASCII letters and digits;
+   * letters are lowercased. Ensures usernames contain only: a-z, 0-9
    * 
-   * Character filtering removes: !"#$%&'()*+,-./:;<=>?@[\]^_`{|}~
-   * Ensures usernames contain only: a-z, 0-9
+   * The result is a base name: use UsernameAllocationService to turn it into
+   * a name that is free.
    */
   public static String generateOAuthUsername(String email, String oauthId) {
     if (email == null || email.isEmpty() || oauthId == null || oauthId.isEmpty()) {
       throw new IllegalArgumentException("Email and OAuth ID cannot be null or empty");
     }
 
-    // Normalize email to lowercase and remove any special characters
-    String normalizedEmail = email.split("@")[0]; // Use the part before '@' for username
-    normalizedEmail = normalizedEmail.toLowerCase().replaceAll("[^a-z0-9]", "");
+    // Use the part before '@' for username
+    int at = email.indexOf('@');
+    String normalizedEmail = normalize(email, at < 0 ? email.length() : at, MAX_USERNAME_LENGTH);
 
-    String truncatedOauthId = oauthId.replaceAll("[^a-z0-9]", "").toLowerCase();
-    if (truncatedOauthId.isBlank()) {
+    String normalizedOauthId = normalize(oauthId, oauthId.length(), MAX_OAUTH_ID_LENGTH);
+    if (normalizedOauthId.isEmpty()) {
       throw new IllegalArgumentException("OAuth ID must not be empty or contain only special characters");
     }
 
-    truncatedOauthId = truncatedOauthId.substring(0,
-        Math.min(oauthId.length(), MAX_OAUTH_ID_LENGTH));
-
-    StringBuilder emailBuilder = new StringBuilder(normalizedEmail);
-    StringBuilder oauthIdBuilder = new StringBuilder(truncatedOauthId);
+    // Truncate alternately, starting with the email part
+    int excess = normalizedEmail.length() + normalizedOauthId.length() - MAX_USERNAME_LENGTH;
+    int emailLength = normalizedEmail.length();
+    int oauthIdLength = normalizedOauthId.length();
+    if (excess > 0) {
+      int emailCut = Math.min(emailLength, (excess + 1) / 2);
+      int oauthIdCut = Math.min(oauthIdLength, excess - emailCut);
+      emailCut = excess - oauthIdCut;
+      emailLength -= emailCut;
+      oauthIdLength -= oauthIdCut;
+    }
 
-    boolean wasEmailTruncated = false;
-    // Truncate to a maximum length of the email necessary
-    while ((emailBuilder.length() + oauthIdBuilder.length()) > MAX_USERNAME_LENGTH) {
+    // Generate a unique username by combining normalized email with OAuth ID
+    return normalizedEmail.substring(0, emailLength) + normalizedOauthId.substring(0, oauthIdLength);
+  }
 
-      if (!wasEmailTruncated) {
-        emailBuilder.delete(emailBuilder.length() - 1, emailBuilder.length());
-      } else {
-        oauthIdBuilder.delete(oauthIdBuilder.length() - 1, oauthIdBuilder.length());
+  /**
+   * Lowercase ASCII letters and digits of {@code value[0, end)}, at most
+   * {@code maxLength} of them.
+   */
+  private static String normalize(String value, int end, int maxLength) {
+    StringBuilder builder = new StringBuilder(Math.min(end, maxLength));
+    for (int i = 0; i < end && builder.length() < maxLength; i++) {
+      char c = value.charAt(i);
+      if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9') {
+        builder.append(c);
+      } else if (c >= 'A' && c <= 'Z') {
+        builder.append((char) (c + ('a' - 'A')));
       }
-
-      wasEmailTruncated = !wasEmailTruncated; // Alternate truncation
-
     }
-
-    // Generate a unique username by combining normalized email with OAuth ID
-    return emailBuilder.toString() + oauthIdBuilder.toString();
+    return builder.toString();
   }
 
 }
@@ -0,0 +1,66 @@
+package com.prolinkli.framework.config.google;
+
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.apache.v2.ApacheHttpTransport;
+import com.google.api.client.json.gson.GsonFactory;
+
+import org.apache.http.client.config.RequestConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Shared Google API client infrastructure.
+ *
+ * One pooled HTTP transport and JSON factory are used for the token exchange
+ * and for fetching Google's signing certificates, instead of a new
+ * NetHttpTransport per call.
+ */
+@Configuration
+public class GoogleClientConfig {
+
+	@Value("${google.http.max-connections:50}")
+	private int maxConnections;
+
+	@Value("${google.http.connect-timeout-ms:2000}")
+	private int connectTimeoutMs;
+
+	@Value("${google.http.read-timeout-ms:5000}")
+	private int readTimeoutMs;
+
+	@Value("${google.oauth.certs-url:https://www.googleapis.com/oauth2/v1/certs}")
+	private String certsUrl;
+
+	@Bean(destroyMethod = "shutdown")
+	public HttpTransport googleHttpTransport() {
+		RequestConfig requestConfig = RequestConfig.custom()
+				.setConnectTimeout(connectTimeoutMs)
+				.setConnectionRequestTimeout(connectTimeoutMs)
+				.setSocketTimeout(readTimeoutMs)
+				.build();
+		return new ApacheHttpTransport(ApacheHttpTransport.newDefaultHttpClientBuilder()
+				.setMaxConnTotal(maxConnections)
+				.setMaxConnPerRoute(maxConnections)
+				.setDefaultRequestConfig(requestConfig)
+				.build());
+	}
+
+	@Bean
+	public GsonFactory googleJsonFactory() {
+		return GsonFactory.getDefaultInstance();
+	}
+
+	/**
+	 * Google's ID token signing certificates. The certs URL can point at a local
+	 * stub serving the same format for offline runs.
+	 */
+	@Bean
+	public GooglePublicKeysManager googlePublicKeysManager(HttpTransport googleHttpTransport,
+			GsonFactory googleJsonFactory) {
+		return new GooglePublicKeysManager.Builder(googleHttpTransport, googleJsonFactory)
+				.setPublicCertsEncodedUrl(certsUrl)
+				.build();
+	}
+
+}
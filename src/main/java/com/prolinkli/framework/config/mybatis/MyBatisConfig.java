@@ -19,7 +19,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
  */
 @Configuration
 @EnableTransactionManagement
-@MapperScan(basePackages = "com.prolinkli.core.app.db.mapper.generated")
+@MapperScan(basePackages = {
+		"com.prolinkli.core.app.db.mapper.generated",
+		"com.prolinkli.core.app.db.mapper.custom" })
 public class MyBatisConfig {
 
 	/**
@@ -1,9 +1,12 @@
 package com.prolinkli.framework.config.secrets;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.env.Environment;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.vault.authentication.SimpleSessionManager;
 import org.springframework.vault.authentication.TokenAuthentication;
 import org.springframework.vault.client.VaultEndpoint;
 import org.springframework.vault.core.VaultTemplate;
@@ -11,18 +14,36 @@ import org.springframework.vault.authentication.ClientAuthentication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prolinkli.framework.config.secrets.backend.CircuitBreakingSecretBackend;
+import com.prolinkli.framework.config.secrets.backend.EncryptedFileSecretBackend;
+import com.prolinkli.framework.config.secrets.backend.EnvSecretBackend;
+import com.prolinkli.framework.config.secrets.backend.SecretBackend;
+import com.prolinkli.framework.config.secrets.backend.VaultSecretBackend;
+import com.prolinkli.framework.resilience.CircuitBreaker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 /**
- * Configuration class for Vault-based secrets management.
- * Sets up VaultTemplate and SecretsManager for secure secret storage.
+ * Configuration class for secrets management.
+ * Sets up the SecretBackend and SecretsManager for secure secret storage.
+ *
+ * The backend is chosen by profile:
+ * - default: Vault (VaultTemplate with token authentication)
+ * - secrets-env: environment variables and .env file, no network access
+ * - secrets-file: AES-GCM encrypted local file, no network access
+ * The test profile uses the environment backend so it never needs Vault.
+ * Exactly one backend is registered: secrets-file wins over secrets-env and
+ * test when both are active.
  */
 @Configuration
-@Profile("!test") // Don't load in test profile
 public class SecretsConfig {
 
     private static final Logger logger = LoggerFactory.getLogger(SecretsConfig.class);
@@ -30,7 +51,15 @@ public class SecretsConfig {
     private static final String DEFAULT_VAULT_ADDRESS = "https://mg2vdmvxdh4s8i6w9hsyuxvg.prolinkli.com";
     private static final String DEFAULT_TOKEN_FILE_PATH = System.getProperty("user.home") + "/.vault-token";
 
+    // Vault is used unless an offline backend is selected
+    private static final String VAULT_PROFILE = "!secrets-env & !secrets-file & !test";
+
+    // The encrypted file takes precedence when both offline backends are active
+    private static final String ENV_PROFILE = "(secrets-env | test) & !secrets-file";
+    private static final String FILE_PROFILE = "secrets-file";
+
     @Bean
+    @Profile(VAULT_PROFILE)
     public VaultEndpoint vaultEndpoint() {
         try {
             String vaultAddress = getVaultAddress();
@@ -43,6 +72,7 @@ public class SecretsConfig {
     }
 
     @Bean
+    @Profile(VAULT_PROFILE)
     public ClientAuthentication vaultClientAuthentication() {
         try {
             String token = getVaultToken();
@@ -54,14 +84,55 @@ public class SecretsConfig {
         }
     }
 
+    /**
+     * VaultTemplate with bounded connect/read timeouts so a slow Vault cannot
+     * hold a thread for longer than the budget. Uses the JDK HttpClient, which
+     * does not pin virtual threads the way HttpURLConnection's synchronized
+     * keep-alive cache does.
+     */
+    @Bean
+    @Profile(VAULT_PROFILE)
+    public VaultTemplate vaultTemplate(VaultEndpoint vaultEndpoint, ClientAuthentication clientAuthentication,
+                                       @Value("${secrets.vault.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                       @Value("${secrets.vault.read-timeout-ms:3000}") long readTimeoutMs) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        return new VaultTemplate(vaultEndpoint, requestFactory, new SimpleSessionManager(clientAuthentication));
+    }
+
+    @Bean
+    @Profile(VAULT_PROFILE)
+    public SecretBackend vaultSecretBackend(VaultTemplate vaultTemplate, MeterRegistry meterRegistry,
+                                            @Value("${spring.vault.secret.domain:dev}") String secretDomain,
+                                            @Value("${secrets.vault.breaker.failure-threshold:3}") int failureThreshold,
+                                            @Value("${secrets.vault.breaker.open-seconds:30}") long openSeconds) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("vault", failureThreshold,
+                                                           Duration.ofSeconds(openSeconds), meterRegistry);
+        return new CircuitBreakingSecretBackend(new VaultSecretBackend(vaultTemplate, secretDomain), circuitBreaker);
+    }
+
+    @Bean
+    @Profile(ENV_PROFILE)
+    public SecretBackend envSecretBackend(@Value("${secrets.env.directory:.}") String directory) {
+        logger.info("Using environment/dotenv secret backend ({})", directory);
+        return new EnvSecretBackend(directory);
+    }
+
     @Bean
-    public VaultTemplate vaultTemplate(VaultEndpoint vaultEndpoint, ClientAuthentication clientAuthentication) {
-        return new VaultTemplate(vaultEndpoint, clientAuthentication);
+    @Profile(FILE_PROFILE)
+    public SecretBackend encryptedFileSecretBackend(@Value("${secrets.file.path:secrets.enc}") String path,
+                                                    @Value("${SECRETS_FILE_KEY:}") String key) {
+        logger.info("Using encrypted file secret backend ({})", path);
+        return new EncryptedFileSecretBackend(Paths.get(path), key);
     }
 
     @Bean
-    public SecretsManager secretsManager(VaultTemplate vaultTemplate, Environment environment) {
-        return new SecretsManager(vaultTemplate);
+    public SecretsManager secretsManager(SecretBackend secretBackend, MeterRegistry meterRegistry,
+                                         ApplicationEventPublisher eventPublisher) {
+        return new SecretsManager(secretBackend, meterRegistry, eventPublisher);
     }
 
     /**
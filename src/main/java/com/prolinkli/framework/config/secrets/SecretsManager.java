@@ -2,46 +2,141 @@ package com.prolinkli.framework.config.secrets;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.env.Environment;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.vault.core.VaultKeyValueOperations;
-import org.springframework.vault.core.VaultTemplate;
-import org.springframework.vault.support.VaultResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prolinkli.framework.config.secrets.backend.SecretBackend;
+import com.prolinkli.framework.config.secrets.backend.SecretData;
+import com.prolinkli.framework.config.secrets.event.SecretChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * Vault-based secrets manager that provides access to sensitive configuration values.
- * Integrates with HashiCorp Vault for secure secret storage.
+ * Secrets manager that provides access to sensitive configuration values.
+ * Values come from a {@link SecretBackend}: HashiCorp Vault by default, or
+ * environment/dotenv or an encrypted local file for offline runs.
  * 
  * Supports different secret domains based on active profiles:
  * - dev: Uses secrets from vault path secret/spring/dev/*
  * - local-dev: Uses secrets from vault path secret/spring/local-dev/*
  * 
  * Secret paths are organized by category for easy management and extension.
+ *
+ * Secrets are served from an in-process cache. Each path is read from the
+ * backend as a whole and kept with its own TTL (the Vault lease duration when
+ * one is returned, otherwise {@code secrets.cache.ttl-seconds}) and version. A
+ * background thread re-reads each path ahead of its expiry, so after the first
+ * read of a path the backend is no longer on the request path. If a refresh fails
+ * the previous values keep being served and the refresh is retried.
+ *
+ * Metrics: {@code secrets.cache.requests} (tag {@code result}: hit, miss,
+ * stale), {@code secrets.cache.refresh} (tag {@code result}: success,
+ * failure) and {@code secrets.cache.paths}.
+ *
+ * When a refresh returns a different version of a path, a
+ * {@link SecretChangedEvent} is published (on the refresh thread) so key
+ * holders can rotate without a restart.
  */
 @Component
 public class SecretsManager {
 
     private static final Logger logger = LoggerFactory.getLogger(SecretsManager.class);
 
-    private final VaultTemplate vaultTemplate;
+    private static final long MIN_REFRESH_DELAY_MS = 1000;
+
+    private final SecretBackend backend;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationEventPublisher eventPublisher;
     
-    @Value("${spring.vault.secret.domain:dev}")
-    private String secretDomain;
+    @Value("${secrets.cache.ttl-seconds:300}")
+    private long defaultTtlSeconds;
 
-    // Vault secret sub-paths
+    @Value("${secrets.cache.refresh-ahead:0.75}")
+    private double refreshAhead;
+
+    @Value("${secrets.cache.retry-seconds:5}")
+    private long retrySeconds;
+
+    @Value("${secrets.cache.preload-paths:jwt}")
+    private List<String> preloadPaths;
+
+    // Secret sub-paths
     private static final String JWT_PATH = "jwt";
     private static final String DB_PATH = "db";
     private static final String SECURITY_PATH = "security";
     private static final String OAUTH_PATH = "oauth";
     private static final String APP_PATH = "app";
 
+    private final Map<String, CachedSecretPath> cache = new ConcurrentHashMap<>();
+    private final Map<String, ReentrantLock> loadLocks = new ConcurrentHashMap<>();
+    // One pending refresh per path; rescheduling replaces it
+    private final Map<String, ScheduledFuture<?>> scheduledRefreshes = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter staleCounter;
+    private final Counter refreshSuccessCounter;
+    private final Counter refreshFailureCounter;
+
     @Autowired
-    public SecretsManager(VaultTemplate vaultTemplate) {
-        this.vaultTemplate = vaultTemplate;
+    public SecretsManager(SecretBackend backend, MeterRegistry meterRegistry,
+                          ApplicationEventPublisher eventPublisher) {
+        this.backend = backend;
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "secrets-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.hitCounter = Counter.builder("secrets.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder("secrets.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.staleCounter = Counter.builder("secrets.cache.requests").tag("result", "stale").register(meterRegistry);
+        this.refreshSuccessCounter = Counter.builder("secrets.cache.refresh").tag("result", "success").register(meterRegistry);
+        this.refreshFailureCounter = Counter.builder("secrets.cache.refresh").tag("result", "failure").register(meterRegistry);
+        Gauge.builder("secrets.cache.paths", cache, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Warms the cache for the paths used on every request so the first
+     * requests do not wait on the backend.
+     */
+    @PostConstruct
+    void preload() {
+        for (String subPath : preloadPaths) {
+            if (!subPath.isBlank()) {
+                getCachedPath(subPath.trim());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
     }
 
     /**
@@ -55,36 +150,151 @@ public class SecretsManager {
     }
 
     /**
-     * Gets a secret value from a specific Vault sub-path
-     * @param subPath The Vault secret sub-path (e.g., "jwt", "db", "oauth")
+     * Gets a secret value from a specific sub-path
+     * @param subPath The secret sub-path (e.g., "jwt", "db", "oauth")
      * @param key The secret key within the path
      * @return The secret value, or null if not found
      */
     public String getSecret(String subPath, String key) {
+        CachedSecretPath entry = getCachedPath(subPath);
+        if (entry == null) {
+            return null;
+        }
+
+        Object value = entry.data.get(key);
+        if (value == null) {
+            logger.debug("Secret '{}' not found in {} path '{}'", key, backend.getName(), subPath);
+            return null;
+        }
+        return value.toString();
+    }
+
+    /**
+     * The KV version of the cached copy of a path, or null if the path has not
+     * been read yet or the backend does not version it.
+     */
+    public Integer getSecretVersion(String subPath) {
+        CachedSecretPath entry = cache.get(subPath);
+        return entry != null ? entry.version : null;
+    }
+
+    /**
+     * Re-reads a path from the backend right away, e.g. after an operator rotated a
+     * secret and does not want to wait for the TTL. The path's next scheduled
+     * refresh is replaced, not added to.
+     */
+    public void refreshNow(String subPath) {
+        refresh(subPath);
+    }
+
+    private CachedSecretPath getCachedPath(String subPath) {
+        CachedSecretPath entry = cache.get(subPath);
+        if (entry != null) {
+            countRead(entry);
+            return entry;
+        }
+
+        // Cold path: only one caller reads the backend, the others wait for it
+        ReentrantLock lock = loadLocks.computeIfAbsent(subPath, p -> new ReentrantLock());
+        lock.lock();
         try {
-            // Construct the full path: secrets/{domain}/{category}
-            String fullPath = "secrets/" + secretDomain + "/" + subPath;
-            
-            // Use "kv" mount point, not "secrets"
-            VaultKeyValueOperations ops = vaultTemplate.opsForKeyValue("kv", 
-                                                                      VaultKeyValueOperations.KeyValueBackend.KV_2);
-            VaultResponse response = ops.get(fullPath);
-            
-            if (response != null && response.getData() != null) {
-                Map<String, Object> data = response.getData();
-                Object value = data.get(key);
-                if (value != null) {
-                    logger.debug("Retrieved secret '{}' from Vault path 'kv/{}'", key, fullPath);
-                    return value.toString();
-                }
+            entry = cache.get(subPath);
+            if (entry != null) {
+                countRead(entry);
+                return entry;
             }
+            missCounter.increment();
+            entry = fetch(subPath);
+            cache.put(subPath, entry);
+            scheduleRefresh(subPath, entry.refreshDelayMs);
+            return entry;
+        } catch (Exception e) {
+            logger.warn("Failed to retrieve secrets from {} for path: {}, error: {}",
+                       backend.getName(), subPath, e.getMessage());
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void countRead(CachedSecretPath entry) {
+        if (Instant.now().isAfter(entry.expiresAt)) {
+            staleCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+    }
+
+    private void refresh(String subPath) {
+        // Serializes a manual refresh with the scheduled one and with a cold load
+        ReentrantLock lock = loadLocks.computeIfAbsent(subPath, p -> new ReentrantLock());
+        lock.lock();
+        try {
+            CachedSecretPath entry = fetch(subPath);
+            CachedSecretPath previous = cache.put(subPath, entry);
+            refreshSuccessCounter.increment();
+            scheduleRefresh(subPath, entry.refreshDelayMs);
+            publishIfChanged(subPath, previous, entry);
+        } catch (Exception e) {
+            refreshFailureCounter.increment();
+            logger.warn("Failed to refresh secrets from {} for path {}, serving cached values: {}",
+                       backend.getName(), subPath, e.getMessage());
+            scheduleRefresh(subPath, TimeUnit.SECONDS.toMillis(retrySeconds));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void publishIfChanged(String subPath, CachedSecretPath previous, CachedSecretPath current) {
+        if (previous == null) {
+            return;
+        }
+        if (previous.version != null && previous.version.equals(current.version)) {
+            return;
+        }
+
+        Set<String> changedKeys = new HashSet<>(previous.data.keySet());
+        changedKeys.addAll(current.data.keySet());
+        changedKeys.removeIf(key -> Objects.equals(previous.data.get(key), current.data.get(key)));
+        if (changedKeys.isEmpty()) {
+            return;
+        }
+
+        logger.info("Secrets changed in {} path {} (version {} -> {}): {}",
+                   backend.getName(), subPath, previous.version, current.version, changedKeys);
+        try {
+            eventPublisher.publishEvent(new SecretChangedEvent(this, subPath, Set.copyOf(changedKeys),
+                                                               previous.version, current.version));
         } catch (Exception e) {
-            logger.warn("Failed to retrieve secret from Vault for path: kv/secrets/{}/{}, key: {}, error: {}", 
-                       secretDomain, subPath, key, e.getMessage());
+            logger.error("Secret change listener failed for path {}: {}", subPath, e.getMessage(), e);
+        }
+    }
+
+    private void scheduleRefresh(String subPath, long delayMs) {
+        if (refresher.isShutdown()) {
+            return;
         }
-        
-        logger.debug("Secret '{}' not found in Vault path 'kv/secrets/{}/{}'", key, secretDomain, subPath);
-        return null;
+        ScheduledFuture<?> next = refresher.schedule(() -> refresh(subPath),
+                Math.max(MIN_REFRESH_DELAY_MS, delayMs), TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = scheduledRefreshes.put(subPath, next);
+        if (previous != null) {
+            // No-op when previous is the refresh that is running right now
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Reads a whole path from the backend. A missing path is cached as empty
+     * so it is not re-read on every call.
+     */
+    private CachedSecretPath fetch(String subPath) {
+        SecretData secrets = backend.read(subPath);
+        long ttlSeconds = secrets.getLeaseSeconds() > 0 ? secrets.getLeaseSeconds() : defaultTtlSeconds;
+
+        logger.debug("Loaded {} secret(s) from {} path '{}' (version {}, ttl {}s)",
+                    secrets.getData().size(), backend.getName(), subPath, secrets.getVersion(), ttlSeconds);
+        return new CachedSecretPath(secrets.getData(), secrets.getVersion(), Duration.ofSeconds(ttlSeconds),
+                                    refreshAhead);
     }
 
     /**
@@ -124,7 +334,7 @@ public class SecretsManager {
 
     /**
      * Gets a secret value from a specific path with a default fallback
-     * @param subPath The Vault secret sub-path
+     * @param subPath The secret sub-path
      * @param key The secret key
      * @param defaultValue The default value if key is not found
      * @return The secret value or default value
@@ -150,7 +360,7 @@ public class SecretsManager {
 
     /**
      * Gets a required secret value from a specific path, throws exception if not found
-     * @param subPath The Vault secret sub-path
+     * @param subPath The secret sub-path
      * @param key The secret key
      * @return The secret value
      * @throws IllegalStateException if the secret is not found
@@ -198,6 +408,13 @@ public class SecretsManager {
         return getRequiredSecret(JWT_PATH, "JWT_SECRET");
     }
 
+    /**
+     * Re-reads the JWT secrets right away; see {@link #refreshNow(String)}.
+     */
+    public void refreshJwtSecrets() {
+        refreshNow(JWT_PATH);
+    }
+
     public int getJwtExpirationHours() {
         String hours = getSecretWithDefault(JWT_PATH, "JWT_EXPIRATION_HOURS", "24");
         return Integer.parseInt(hours);
@@ -207,6 +424,14 @@ public class SecretsManager {
         return getSecretWithDefault(JWT_PATH, "JWT_ISSUER", "prolinkli-core");
     }
 
+    /**
+     * JSON array describing the asymmetric JWT key ring, or null when the
+     * service only signs with the HMAC secret.
+     */
+    public String getJwtSigningKeys() {
+        return getSecret(JWT_PATH, "JWT_SIGNING_KEYS");
+    }
+
     /**
      * Security configuration getters
      */
@@ -290,4 +515,22 @@ public class SecretsManager {
     public String getExternalApiUrl(String serviceName) {
         return getSecret("external-apis", serviceName.toUpperCase() + "_API_URL");
     }
-} 
+
+    /**
+     * Immutable snapshot of one KV path.
+     */
+    private static final class CachedSecretPath {
+
+        private final Map<String, Object> data;
+        private final Integer version;
+        private final Instant expiresAt;
+        private final long refreshDelayMs;
+
+        private CachedSecretPath(Map<String, Object> data, Integer version, Duration ttl, double refreshAhead) {
+            this.data = data;
+            this.version = version;
+            this.expiresAt = Instant.now().plus(ttl);
+            this.refreshDelayMs = (long) (ttl.toMillis() * refreshAhead);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+import com.prolinkli.framework.resilience.CircuitBreaker;
+
+/**
+ * Guards a remote {@link SecretBackend} with a {@link CircuitBreaker}.
+ *
+ * While the circuit is open, reads fail immediately. SecretsManager then
+ * keeps serving the last values it read, and cold paths fail fast instead
+ * of each waiting for a network timeout.
+ */
+public class CircuitBreakingSecretBackend implements SecretBackend {
+
+    private final SecretBackend delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakingSecretBackend(SecretBackend delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    @Override
+    public SecretData read(String subPath) {
+        return circuitBreaker.execute(() -> delegate.read(subPath));
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+}
@@ -0,0 +1,94 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads secrets from a local AES-256-GCM encrypted JSON file.
+ *
+ * The decrypted content is an object keyed by sub-path:
+ * <pre>
+ * {"jwt": {"JWT_SECRET": "..."}, "oauth/google": {"GOOGLE_OAUTH_CLIENT_ID": "..."}}
+ * </pre>
+ * The file holds base64(12-byte IV || ciphertext || 16-byte tag). The key is a
+ * base64-encoded 32-byte value, normally passed in {@code SECRETS_FILE_KEY}.
+ *
+ * The file is re-read on every refresh, and its version is derived from the
+ * content, so editing the file triggers the usual secret change events.
+ */
+public class EncryptedFileSecretBackend implements SecretBackend {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private final Path file;
+
+    private final SecretKey key;
+
+    public EncryptedFileSecretBackend(Path file, String base64Key) {
+        if (base64Key == null || base64Key.isBlank()) {
+            throw new IllegalStateException("No key configured for encrypted secrets file: " + file);
+        }
+        byte[] keyBytes = Base64.getDecoder().decode(base64Key.trim());
+        if (keyBytes.length != 32) {
+            throw new IllegalStateException("Encrypted secrets file key must be 32 bytes");
+        }
+        this.file = file;
+        this.key = new SecretKeySpec(keyBytes, "AES");
+    }
+
+    @Override
+    public SecretData read(String subPath) {
+        byte[] plaintext = decrypt();
+        try {
+            Map<String, Map<String, Object>> paths = OBJECT_MAPPER.readValue(plaintext, new TypeReference<>() {
+            });
+            Map<String, Object> data = paths.get(subPath);
+            if (data == null) {
+                return SecretData.empty();
+            }
+            return new SecretData(data, Arrays.hashCode(plaintext), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Encrypted secrets file is not valid JSON: " + file, e);
+        } finally {
+            Arrays.fill(plaintext, (byte) 0);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "file:" + file;
+    }
+
+    private byte[] decrypt() {
+        try {
+            byte[] content = Base64.getDecoder().decode(Files.readString(file).trim());
+            if (content.length <= IV_LENGTH) {
+                throw new IllegalStateException("Encrypted secrets file is truncated: " + file);
+            }
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH_BITS, content, 0, IV_LENGTH));
+            return cipher.doFinal(content, IV_LENGTH, content.length - IV_LENGTH);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read encrypted secrets file: " + file, e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to decrypt secrets file (wrong key or tampered): " + file, e);
+        }
+    }
+}
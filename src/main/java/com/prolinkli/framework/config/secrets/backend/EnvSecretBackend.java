@@ -0,0 +1,46 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.cdimascio.dotenv.Dotenv;
+import io.github.cdimascio.dotenv.DotenvEntry;
+
+/**
+ * Reads secrets from a {@code .env} file and the process environment.
+ *
+ * Environment variables are flat, so every sub-path sees the same keys;
+ * secret names are already unique (JWT_SECRET, GOOGLE_OAUTH_CLIENT_ID, ...).
+ * Values are read once at startup, which keeps startup free of network
+ * calls for CI and load-test runs.
+ */
+public class EnvSecretBackend implements SecretBackend {
+
+    private final SecretData secrets;
+
+    private final String directory;
+
+    public EnvSecretBackend(String directory) {
+        this.directory = directory;
+
+        Dotenv dotenv = Dotenv.configure()
+                .directory(directory)
+                .ignoreIfMissing()
+                .load();
+        Map<String, Object> data = new HashMap<>();
+        for (DotenvEntry entry : dotenv.entries()) {
+            data.put(entry.getKey(), entry.getValue());
+        }
+        this.secrets = new SecretData(data, null, 0);
+    }
+
+    @Override
+    public SecretData read(String subPath) {
+        return secrets;
+    }
+
+    @Override
+    public String getName() {
+        return "env:" + directory;
+    }
+}
@@ -0,0 +1,30 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+/**
+ * Source of secret values behind {@link com.prolinkli.framework.config.secrets.SecretsManager}.
+ *
+ * Secrets are grouped by sub-path (e.g. "jwt", "oauth/google"). The manager
+ * caches whatever {@link #read(String)} returns and calls it again in the
+ * background when the TTL runs out, so implementations don't need their own
+ * caching.
+ *
+ * Implementations are selected by profile in {@link com.prolinkli.framework.config.secrets.SecretsConfig}:
+ * - default: {@link VaultSecretBackend}
+ * - secrets-env: {@link EnvSecretBackend}
+ * - secrets-file: {@link EncryptedFileSecretBackend}
+ */
+public interface SecretBackend {
+
+    /**
+     * Reads every secret under a sub-path.
+     * @param subPath The secret sub-path
+     * @return The secrets, empty if the path does not exist
+     * @throws RuntimeException if the backend cannot be reached
+     */
+    SecretData read(String subPath);
+
+    /**
+     * Short name used in logs.
+     */
+    String getName();
+}
@@ -0,0 +1,43 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The secrets stored under one sub-path, as returned by a {@link SecretBackend}.
+ */
+public class SecretData {
+
+    private static final SecretData EMPTY = new SecretData(Map.of(), null, 0);
+
+    private final Map<String, Object> data;
+    private final Integer version;
+    private final long leaseSeconds;
+
+    /**
+     * @param data The key/value pairs
+     * @param version The backend version of the path, or null if not versioned
+     * @param leaseSeconds How long the values may be cached, 0 for the default TTL
+     */
+    public SecretData(Map<String, Object> data, Integer version, long leaseSeconds) {
+        this.data = Collections.unmodifiableMap(data);
+        this.version = version;
+        this.leaseSeconds = leaseSeconds;
+    }
+
+    public static SecretData empty() {
+        return EMPTY;
+    }
+
+    public Map<String, Object> getData() {
+        return data;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public long getLeaseSeconds() {
+        return leaseSeconds;
+    }
+}
@@ -0,0 +1,46 @@
+package com.prolinkli.framework.config.secrets.backend;
+
+import org.springframework.vault.core.VaultKeyValueOperations;
+import org.springframework.vault.core.VaultTemplate;
+import org.springframework.vault.support.VaultResponse;
+
+/**
+ * Reads secrets from the Vault KV v2 engine mounted at "kv", under
+ * {@code secrets/{domain}/{subPath}}.
+ */
+public class VaultSecretBackend implements SecretBackend {
+
+    private final VaultTemplate vaultTemplate;
+
+    private final String secretDomain;
+
+    public VaultSecretBackend(VaultTemplate vaultTemplate, String secretDomain) {
+        this.vaultTemplate = vaultTemplate;
+        this.secretDomain = secretDomain;
+    }
+
+    @Override
+    public SecretData read(String subPath) {
+        // Construct the full path: secrets/{domain}/{category}
+        String fullPath = "secrets/" + secretDomain + "/" + subPath;
+
+        // Use "kv" mount point, not "secrets"
+        VaultKeyValueOperations ops = vaultTemplate.opsForKeyValue("kv",
+                                                                  VaultKeyValueOperations.KeyValueBackend.KV_2);
+        VaultResponse response = ops.get(fullPath);
+        if (response == null || response.getData() == null) {
+            return SecretData.empty();
+        }
+
+        Integer version = null;
+        if (response.getMetadata() != null && response.getMetadata().get("version") instanceof Number number) {
+            version = number.intValue();
+        }
+        return new SecretData(response.getData(), version, response.getLeaseDuration());
+    }
+
+    @Override
+    public String getName() {
+        return "vault:kv/secrets/" + secretDomain;
+    }
+}
@@ -0,0 +1,49 @@
+package com.prolinkli.framework.config.secrets.event;
+
+import java.util.Set;
+
+import org.springframework.context.ApplicationEvent;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Published by {@link com.prolinkli.framework.config.secrets.SecretsManager}
+ * when a background refresh finds a new version of a Vault path.
+ *
+ * Only key names are carried; listeners read the new values from the
+ * SecretsManager, which already holds them when the event is published.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class SecretChangedEvent extends ApplicationEvent {
+
+    private String subPath;
+
+    private Set<String> changedKeys;
+
+    private Integer previousVersion;
+
+    private Integer version;
+
+    public SecretChangedEvent(
+            Object source,
+            String subPath,
+            Set<String> changedKeys,
+            Integer previousVersion,
+            Integer version) {
+        super(source);
+        this.subPath = subPath;
+        this.changedKeys = changedKeys;
+        this.previousVersion = previousVersion;
+        this.version = version;
+    }
+
+    /**
+     * True if the given key under the given path changed.
+     */
+    public boolean affects(String subPath, String key) {
+        return this.subPath.equals(subPath) && changedKeys.contains(key);
+    }
+
+}
@@ -5,6 +5,10 @@ import com.prolinkli.framework.jwt.http.JwtRequestValidator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -32,4 +36,17 @@ public class SecurityConfig {
 
 		return http.build();
 	}
+
+	/**
+	 * Routes {@code hasPermission(...)} in method security expressions to the
+	 * compiled permission matrix. Static so it does not force this configuration
+	 * to be created early; the evaluator is resolved lazily for the same reason.
+	 */
+	@Bean
+	static MethodSecurityExpressionHandler methodSecurityExpressionHandler(
+			@Lazy PermissionEvaluator permissionEvaluator) {
+		DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+		handler.setPermissionEvaluator(permissionEvaluator);
+		return handler;
+	}
 }
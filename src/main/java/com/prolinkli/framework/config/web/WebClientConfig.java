@@ -0,0 +1,36 @@
+package com.prolinkli.framework.config.web;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.JdkClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Non-blocking HTTP client for calls to external identity providers.
+ *
+ * Backed by the JDK HttpClient, so no extra runtime (Netty) is needed.
+ * Requests complete on the client's own threads; servlet threads are not
+ * held while a provider responds.
+ */
+@Configuration
+public class WebClientConfig {
+
+	@Value("${oauth.exchange.connect-timeout-ms:2000}")
+	private long connectTimeoutMs;
+
+	@Bean
+	public WebClient oauthWebClient() {
+		HttpClient httpClient = HttpClient.newBuilder()
+				.connectTimeout(Duration.ofMillis(connectTimeoutMs))
+				.followRedirects(HttpClient.Redirect.NEVER)
+				.build();
+		return WebClient.builder()
+				.clientConnector(new JdkClientHttpConnector(httpClient))
+				.build();
+	}
+
+}
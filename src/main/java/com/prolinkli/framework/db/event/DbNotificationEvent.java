@@ -0,0 +1,36 @@
+package com.prolinkli.framework.db.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * A Postgres {@code NOTIFY} received on a channel this node listens to.
+ *
+ * When {@code resync} is true there is no payload: the listening connection
+ * was (re)established and notifications sent while it was down are lost, so
+ * listeners should reload whatever state the channel keeps current.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class DbNotificationEvent extends ApplicationEvent {
+
+  private String channel;
+
+  private String payload;
+
+  private boolean resync;
+
+  public DbNotificationEvent(
+      Object source,
+      String channel,
+      String payload,
+      boolean resync) {
+    super(source);
+    this.channel = channel;
+    this.payload = payload;
+    this.resync = resync;
+  }
+
+}
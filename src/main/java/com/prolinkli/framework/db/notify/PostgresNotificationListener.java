@@ -0,0 +1,178 @@
+package com.prolinkli.framework.db.notify;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import com.prolinkli.framework.db.event.DbNotificationEvent;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs {@code LISTEN} on the channels in {@code db.notify.channels} and
+ * republishes every notification as a {@link DbNotificationEvent}.
+ *
+ * Uses its own connection rather than one from the pool, since it is held for
+ * the life of the application. Notifications are read with a blocking
+ * {@code getNotifications} call on a dedicated thread, so they are delivered
+ * as soon as the sending transaction commits. If the connection drops it is
+ * reopened after {@code db.notify.reconnect-ms}. After every connect a
+ * resync event is published for each channel, because anything sent while
+ * not listening was missed.
+ */
+@Component
+@ConditionalOnProperty(name = "db.notify.enabled", havingValue = "true", matchIfMissing = true)
+public class PostgresNotificationListener implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PostgresNotificationListener.class);
+
+  private static final int POLL_TIMEOUT_MS = 10000;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  @Value("${spring.datasource.url}")
+  private String url;
+
+  @Value("${spring.datasource.username}")
+  private String username;
+
+  @Value("${spring.datasource.password}")
+  private String password;
+
+  @Value("${db.notify.channels:permission_changes,username_changes}")
+  private List<String> channels;
+
+  @Value("${db.notify.reconnect-ms:2000}")
+  private long reconnectMs;
+
+  private volatile boolean running;
+
+  private volatile Connection connection;
+
+  private Thread thread;
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    if (thread != null || channels.isEmpty()) {
+      return;
+    }
+    running = true;
+    thread = new Thread(this::run, "pg-notify-listener");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Whether this node listens on the channel. If it does, a resync event is
+   * published for the channel once the connection is up, so consumers that
+   * reload on resync need no initial load of their own.
+   */
+  public boolean isListening(String channel) {
+    return channels.contains(channel);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    running = false;
+    closeQuietly();
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        PGConnection pgConnection = connect();
+        LOGGER.info("Listening for database notifications on {}", channels);
+        // Also on the first connect: consumers that skip their own initial
+        // load rely on it, and the others may have loaded before LISTEN
+        for (String channel : channels) {
+          publish(channel, null, true);
+        }
+
+        while (running) {
+          PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MS);
+          if (notifications == null) {
+            continue;
+          }
+          for (PGNotification notification : notifications) {
+            publish(notification.getName(), notification.getParameter(), false);
+          }
+        }
+      } catch (SQLException e) {
+        if (running) {
+          LOGGER.warn("Database notification connection lost, reconnecting in {}ms: {}", reconnectMs,
+              e.getMessage());
+        }
+      } catch (RuntimeException e) {
+        // Never let the thread die; without it this node stops hearing changes
+        LOGGER.error("Database notification listener failed, reconnecting in {}ms", reconnectMs, e);
+      } finally {
+        closeQuietly();
+      }
+
+      if (running) {
+        try {
+          Thread.sleep(reconnectMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  private PGConnection connect() throws SQLException {
+    Connection newConnection = DriverManager.getConnection(url, username, password);
+    connection = newConnection;
+    newConnection.setAutoCommit(true);
+    try (Statement statement = newConnection.createStatement()) {
+      for (String channel : channels) {
+        // Channel names come from configuration, not from requests
+        statement.execute("LISTEN " + channel);
+      }
+    }
+    return newConnection.unwrap(PGConnection.class);
+  }
+
+  private void publish(String channel, String payload, boolean resync) {
+    try {
+      eventPublisher.publishEvent(new DbNotificationEvent(this, channel, payload, resync));
+    } catch (RuntimeException e) {
+      // A failing consumer must not take the listener down, nor keep the
+      // other channels from their resync
+      LOGGER.error("Failed to handle {} on {}: {}", resync ? "resync" : "notification", channel,
+          e.getMessage(), e);
+    }
+  }
+
+  private void closeQuietly() {
+    Connection current = connection;
+    connection = null;
+    if (current == null) {
+      return;
+    }
+    try {
+      current.close();
+    } catch (SQLException e) {
+      LOGGER.debug("Error closing notification connection: {}", e.getMessage());
+    }
+  }
+
+}
@@ -0,0 +1,99 @@
+package com.prolinkli.framework.diagnostics;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+/**
+ * Reports virtual threads that pin their carrier thread.
+ *
+ * Streams the JFR {@code jdk.VirtualThreadPinned} event (Java 21+). It is
+ * emitted when a virtual thread blocks inside a {@code synchronized} block
+ * or native frame for longer than {@code diagnostics.virtual-threads.pinning.threshold-ms}.
+ * Each event is logged with the top of its stack and counted in
+ * {@code virtual.thread.pinned}, tagged with the frame that held the monitor.
+ * Run it under load with {@code spring.threads.virtual.enabled=true}.
+ *
+ * On Java 17 the event does not exist and the stream never fires.
+ */
+@Component
+@ConditionalOnProperty(name = "diagnostics.virtual-threads.pinning.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final int LOGGED_FRAMES = 8;
+
+  private final MeterRegistry meterRegistry;
+
+  @Value("${diagnostics.virtual-threads.pinning.threshold-ms:20}")
+  private long thresholdMs;
+
+  private RecordingStream stream;
+
+  @Autowired
+  public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  void start() {
+    stream = new RecordingStream();
+    stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+    stream.onEvent(PINNED_EVENT, this::onPinned);
+    stream.startAsync();
+    LOGGER.info("Virtual thread pinning monitor started (threshold {}ms)", thresholdMs);
+  }
+
+  @PreDestroy
+  void stop() {
+    if (stream != null) {
+      stream.close();
+    }
+  }
+
+  private void onPinned(RecordedEvent event) {
+    RecordedStackTrace stackTrace = event.getStackTrace();
+    String topFrame = "unknown";
+    StringBuilder frames = new StringBuilder();
+    if (stackTrace != null) {
+      int count = 0;
+      for (RecordedFrame frame : stackTrace.getFrames()) {
+        if (!frame.isJavaFrame()) {
+          continue;
+        }
+        String name = frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+        if (count == 0) {
+          topFrame = name;
+        }
+        frames.append("\n\tat ").append(name).append(':').append(frame.getLineNumber());
+        if (++count == LOGGED_FRAMES) {
+          break;
+        }
+      }
+    }
+
+    Counter.builder("virtual.thread.pinned")
+        .tag("frame", topFrame)
+        .register(meterRegistry)
+        .increment();
+    LOGGER.warn("Virtual thread pinned its carrier for {}ms{}", event.getDuration().toMillis(), frames);
+  }
+
+}
@@ -3,6 +3,7 @@ package com.prolinkli.framework.exception.exceptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authorization.AuthorizationDeniedException;
@@ -15,6 +16,7 @@ import com.prolinkli.framework.exception.exceptions.model.AuthenticationFailedEx
 import com.prolinkli.framework.exception.exceptions.model.InvalidCredentialsException;
 import com.prolinkli.framework.exception.exceptions.model.ResourceAlreadyExists;
 import com.prolinkli.framework.exception.exceptions.model.ResourceNotFoundException;
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
 import com.prolinkli.framework.exception.response.model.ErrorResponse;
 import com.prolinkli.framework.jwt.model.JWTTokenExpiredException;
 
@@ -102,6 +104,20 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(Constants.HttpStatuses.PageExpired.CODE).body(body);
   }
 
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloaded(ServiceOverloadedException ex,
+      HttpServletRequest req) {
+    log.warn("Service overloaded: {}", ex.getMessage());
+    ErrorResponse body = new ErrorResponse(
+        HttpStatus.SERVICE_UNAVAILABLE.value(),
+        HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+        ex.getMessage(),
+        req.getRequestURI());
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(body);
+  }
+
   @ExceptionHandler(NoHandlerFoundException.class)
   public ResponseEntity<ErrorResponse> handleNoRoute(NoHandlerFoundException ex,
       HttpServletRequest req) {
@@ -1,39 +1,145 @@
 package com.prolinkli.framework.hash;
 
-import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
 
-import at.favre.lib.crypto.bcrypt.BCrypt;
+import com.prolinkli.framework.hash.model.PasswordHashParameters;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.scrypt.SCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Password encoder registry.
+ *
+ * New hashes are written as {@code {algorithm}<PHC string>}, e.g.
+ * {@code {argon2id}$argon2id$v=19$m=19456,t=2,p=1$...}, so every stored hash
+ * names its algorithm and parameters. Hashes without a prefix are legacy
+ * BCrypt hashes and still verify.
+ *
+ * {@link #needsRehash(String)} reports hashes written with another algorithm
+ * or with weaker parameters than the current configuration; they are
+ * replaced after the next successful login.
+ */
+@Component
 public class Hasher {
 
-  public static String hashString(String input) throws IllegalStateException {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Hasher.class);
+
+  public static final String BCRYPT = "bcrypt";
+  public static final String ARGON2ID = "argon2id";
+  public static final String SCRYPT = "scrypt";
+
+  private static final int SALT_LENGTH = 16;
+  private static final int HASH_LENGTH = 32;
+
+  @Value("${hash.algorithm:argon2id}")
+  private String algorithm;
+
+  @Value("${hash.bcrypt.cost:12}")
+  private int bcryptCost;
+
+  @Value("${hash.argon2.memory-kib:19456}")
+  private int argon2MemoryKib;
+
+  @Value("${hash.argon2.iterations:2}")
+  private int argon2Iterations;
+
+  @Value("${hash.argon2.parallelism:1}")
+  private int argon2Parallelism;
+
+  @Value("${hash.scrypt.cpu-cost:65536}")
+  private int scryptCpuCost;
+
+  @Value("${hash.scrypt.memory-cost:8}")
+  private int scryptMemoryCost;
+
+  @Value("${hash.scrypt.parallelization:1}")
+  private int scryptParallelization;
+
+  private volatile PasswordHashParameters parameters;
+
+  private volatile PasswordEncoder encoder;
+
+  @PostConstruct
+  void init() {
+    configure(PasswordHashParameters.builder()
+        .algorithm(algorithm)
+        .bcryptCost(bcryptCost)
+        .argon2MemoryKib(argon2MemoryKib)
+        .argon2Iterations(argon2Iterations)
+        .argon2Parallelism(argon2Parallelism)
+        .scryptCpuCost(scryptCpuCost)
+        .scryptMemoryCost(scryptMemoryCost)
+        .scryptParallelization(scryptParallelization)
+        .build());
+  }
+
+  /**
+   * Swaps in a new encoder configuration. Hashes already in flight finish
+   * with the previous one.
+   */
+  public void configure(PasswordHashParameters parameters) {
+    this.encoder = createEncoder(parameters);
+    this.parameters = parameters;
+    LOGGER.info("Password hashing configured: {}", parameters);
+  }
+
+  public PasswordHashParameters getParameters() {
+    return parameters;
+  }
+
+  public String hashString(String input) throws IllegalStateException {
     if (input == null || input.isEmpty()) {
       throw new IllegalStateException("Input cannot be null or empty");
     }
-    char[] inputBytes = input.toCharArray();
-    return BCrypt.withDefaults().hashToString(12, inputBytes);
+    return encoder.encode(input);
   }
 
-  public static String generateRandomHash() {
-    // Generate a random string of 32 characters
-    StringBuilder sb = new StringBuilder(32);
-    SecureRandom secureRandom = new SecureRandom();
-    for (int i = 0; i < 32; i++) {
-      int randomChar = (int) (secureRandom.nextInt() * 26) + 'a'; // Random lowercase letter
-      sb.append((char) randomChar);
+  public boolean verifyString(String input, String hashed) throws IllegalStateException {
+    if (input == null || input.isEmpty() || hashed == null || hashed.isEmpty()) {
+      throw new IllegalStateException("Input and hashed password cannot be null or empty");
     }
-    return hashString(sb.toString());
-  } 
+    return encoder.matches(input, hashed);
+  }
 
-  public static boolean verifyString(String input, String hashed) throws IllegalStateException {
+  /**
+   * True when the stored hash uses another algorithm or weaker parameters
+   * than the current configuration.
+   */
+  public boolean needsRehash(String hashed) {
+    return hashed != null && encoder.upgradeEncoding(hashed);
+  }
 
-    if (input == null || input.isEmpty() || hashed == null || hashed.isEmpty()) {
-      throw new IllegalStateException("Input and hashed password cannot be null or empty");
+  /**
+   * Builds the delegating encoder for a parameter set. Also used to benchmark
+   * candidate parameters without touching the active configuration.
+   */
+  public static PasswordEncoder createEncoder(PasswordHashParameters parameters) {
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(parameters.getBcryptCost());
+    encoders.put(BCRYPT, bcrypt);
+    encoders.put(ARGON2ID, new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH,
+        parameters.getArgon2Parallelism(), parameters.getArgon2MemoryKib(), parameters.getArgon2Iterations()));
+    encoders.put(SCRYPT, new SCryptPasswordEncoder(parameters.getScryptCpuCost(), parameters.getScryptMemoryCost(),
+        parameters.getScryptParallelization(), HASH_LENGTH, SALT_LENGTH));
+
+    if (!encoders.containsKey(parameters.getAlgorithm())) {
+      throw new IllegalArgumentException("Unsupported password hash algorithm: " + parameters.getAlgorithm());
     }
-    char[] inputBytes = input.toCharArray();
-    BCrypt.Result result = BCrypt.verifyer().verify(inputBytes, hashed);
 
-    return result.verified;
+    DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(parameters.getAlgorithm(), encoders);
+    // Hashes written before the registry existed are bare BCrypt strings
+    delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+    return delegating;
   }
 
 }
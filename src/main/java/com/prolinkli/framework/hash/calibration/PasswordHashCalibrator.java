@@ -0,0 +1,261 @@
+package com.prolinkli.framework.hash.calibration;
+
+import java.util.Arrays;
+
+import com.prolinkli.framework.hash.Hasher;
+import com.prolinkli.framework.hash.model.PasswordHashParameters;
+import com.prolinkli.framework.hash.service.PasswordHashService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Picks password hash parameters for the machine the application is running
+ * on.
+ *
+ * Opt-in ({@code hash.calibration.enabled=true}) since the benchmark adds
+ * seconds to startup. The configured algorithm is benchmarked with increasing
+ * cost, starting from the configured parameters or the security floor,
+ * whichever is stronger. The strongest parameters whose median hash time
+ * stays within the latency budget are applied to {@link Hasher}. The budget is
+ * {@code hash.calibration.target-p50-ms}, tightened when needed so that the
+ * hashing pool can still sustain {@code hash.calibration.min-throughput}
+ * hashes per second.
+ *
+ * Memory-hard algorithms are also capped so that one hash per pool worker
+ * fits in {@code hash.calibration.max-heap-fraction} of the maximum heap.
+ *
+ * The starting point is never lowered: on a machine too slow to meet the
+ * budget there, it is kept and a warning is logged.
+ *
+ * Nodes on different hardware may end up with different parameters. That is
+ * safe: stored hashes are only rehashed when they are weaker than the local
+ * configuration, so hashes never bounce between nodes.
+ *
+ * The chosen values are logged and exported as {@code password.hash.calibration.*}
+ * gauges.
+ */
+@Component
+@ConditionalOnProperty(name = "hash.calibration.enabled", havingValue = "true")
+public class PasswordHashCalibrator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashCalibrator.class);
+
+  private static final String SAMPLE_PASSWORD = "calibration-Sample-Passw0rd!";
+
+  // Security floors (OWASP password storage minimums)
+  private static final int BCRYPT_MIN_COST = 10;
+  private static final int BCRYPT_MAX_COST = 16;
+  private static final int ARGON2_MIN_MEMORY_KIB = 19456;
+  private static final int ARGON2_MIN_ITERATIONS = 2;
+  private static final int ARGON2_MAX_ITERATIONS = 10;
+  private static final int SCRYPT_MIN_CPU_COST = 1 << 15;
+  private static final int SCRYPT_MAX_CPU_COST = 1 << 20;
+
+  @Value("${hash.calibration.target-p50-ms:250}")
+  private long targetP50Ms;
+
+  @Value("${hash.calibration.min-throughput:0}")
+  private double minThroughput;
+
+  @Value("${hash.calibration.samples:5}")
+  private int samples;
+
+  @Value("${hash.calibration.argon2.max-memory-kib:262144}")
+  private int argon2MaxMemoryKib;
+
+  @Value("${hash.calibration.max-heap-fraction:0.25}")
+  private double maxHeapFraction;
+
+  private final Hasher hasher;
+
+  private final PasswordHashService passwordHashService;
+
+  private final MeterRegistry meterRegistry;
+
+  private volatile double measuredP50Ms;
+
+  @Autowired
+  public PasswordHashCalibrator(Hasher hasher, PasswordHashService passwordHashService,
+      MeterRegistry meterRegistry) {
+    this.hasher = hasher;
+    this.passwordHashService = passwordHashService;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @PostConstruct
+  void calibrate() {
+    long startedAt = System.nanoTime();
+    double budgetMs = latencyBudgetMs();
+    PasswordHashParameters current = hasher.getParameters();
+
+    PasswordHashParameters chosen = switch (current.getAlgorithm()) {
+      case Hasher.BCRYPT -> calibrateBcrypt(current, budgetMs);
+      case Hasher.ARGON2ID -> calibrateArgon2(current, budgetMs);
+      case Hasher.SCRYPT -> calibrateScrypt(current, budgetMs);
+      default -> current;
+    };
+
+    if (measuredP50Ms > budgetMs) {
+      LOGGER.warn("Password hashing at the configured parameters takes {} ms (budget {} ms); "
+          + "consider a larger instance or more hashing threads", Math.round(measuredP50Ms), Math.round(budgetMs));
+    }
+
+    hasher.configure(chosen);
+    registerGauges();
+    LOGGER.info("Password hash calibration finished in {} ms: {} with p50 {} ms (budget {} ms, {} worker(s))",
+        (System.nanoTime() - startedAt) / 1_000_000, chosen, Math.round(measuredP50Ms), Math.round(budgetMs),
+        passwordHashService.getPoolSize());
+  }
+
+  /**
+   * The target p50, lowered if the pool could not otherwise reach the
+   * required throughput.
+   */
+  private double latencyBudgetMs() {
+    double budget = targetP50Ms;
+    if (minThroughput > 0) {
+      budget = Math.min(budget, passwordHashService.getPoolSize() * 1000.0 / minThroughput);
+    }
+    return budget;
+  }
+
+  /**
+   * Memory a single hash may use, in KiB, so that every pool worker hashing
+   * at once stays within the heap share.
+   */
+  private long perHashMemoryBudgetKib() {
+    long heapShareKib = (long) (Runtime.getRuntime().maxMemory() * maxHeapFraction / 1024);
+    return heapShareKib / Math.max(1, passwordHashService.getPoolSize());
+  }
+
+  private PasswordHashParameters calibrateBcrypt(PasswordHashParameters base, double budgetMs) {
+    PasswordHashParameters best = base.toBuilder()
+        .bcryptCost(Math.max(BCRYPT_MIN_COST, base.getBcryptCost()))
+        .build();
+    this.measuredP50Ms = measure(best);
+    for (int cost = best.getBcryptCost() + 1; cost <= BCRYPT_MAX_COST; cost++) {
+      PasswordHashParameters candidate = best.toBuilder().bcryptCost(cost).build();
+      double p50 = measure(candidate);
+      if (p50 > budgetMs) {
+        break;
+      }
+      best = candidate;
+      this.measuredP50Ms = p50;
+    }
+    return best;
+  }
+
+  /**
+   * Memory is raised first since it is what makes Argon2 expensive to attack
+   * on GPUs; iterations are added once memory reaches its cap. The cap is the
+   * smaller of {@code hash.calibration.argon2.max-memory-kib} and the per-hash
+   * heap budget.
+   */
+  private PasswordHashParameters calibrateArgon2(PasswordHashParameters base, double budgetMs) {
+    PasswordHashParameters best = base.toBuilder()
+        .argon2MemoryKib(Math.max(ARGON2_MIN_MEMORY_KIB, base.getArgon2MemoryKib()))
+        .argon2Iterations(Math.max(ARGON2_MIN_ITERATIONS, base.getArgon2Iterations()))
+        .build();
+    long memoryCapKib = Math.min(argon2MaxMemoryKib, perHashMemoryBudgetKib());
+    if (best.getArgon2MemoryKib() > memoryCapKib) {
+      LOGGER.warn("Argon2 memory of {} KiB x {} worker(s) exceeds the heap budget of {} KiB per hash",
+          best.getArgon2MemoryKib(), passwordHashService.getPoolSize(), memoryCapKib);
+    }
+    this.measuredP50Ms = measure(best);
+
+    while ((long) best.getArgon2MemoryKib() * 2 <= memoryCapKib) {
+      PasswordHashParameters candidate = best.toBuilder().argon2MemoryKib(best.getArgon2MemoryKib() * 2).build();
+      double p50 = measure(candidate);
+      if (p50 > budgetMs) {
+        return best;
+      }
+      best = candidate;
+      this.measuredP50Ms = p50;
+    }
+
+    while (best.getArgon2Iterations() < ARGON2_MAX_ITERATIONS) {
+      PasswordHashParameters candidate = best.toBuilder().argon2Iterations(best.getArgon2Iterations() + 1).build();
+      double p50 = measure(candidate);
+      if (p50 > budgetMs) {
+        break;
+      }
+      best = candidate;
+      this.measuredP50Ms = p50;
+    }
+    return best;
+  }
+
+  /**
+   * scrypt uses 128 x r x N bytes per hash, so raising N is capped by the
+   * per-hash heap budget as well.
+   */
+  private PasswordHashParameters calibrateScrypt(PasswordHashParameters base, double budgetMs) {
+    PasswordHashParameters best = base.toBuilder()
+        .scryptCpuCost(Math.max(SCRYPT_MIN_CPU_COST, base.getScryptCpuCost()))
+        .build();
+    long memoryCapKib = perHashMemoryBudgetKib();
+    this.measuredP50Ms = measure(best);
+    while (best.getScryptCpuCost() < SCRYPT_MAX_CPU_COST
+        && scryptMemoryKib(best.getScryptCpuCost() * 2, best.getScryptMemoryCost()) <= memoryCapKib) {
+      PasswordHashParameters candidate = best.toBuilder().scryptCpuCost(best.getScryptCpuCost() * 2).build();
+      double p50 = measure(candidate);
+      if (p50 > budgetMs) {
+        break;
+      }
+      best = candidate;
+      this.measuredP50Ms = p50;
+    }
+    return best;
+  }
+
+  private static long scryptMemoryKib(int cpuCost, int memoryCost) {
+    return 128L * memoryCost * cpuCost / 1024;
+  }
+
+  /**
+   * Median time of one hash in milliseconds, after one warm-up run.
+   */
+  private double measure(PasswordHashParameters parameters) {
+    PasswordEncoder encoder = Hasher.createEncoder(parameters);
+    encoder.encode(SAMPLE_PASSWORD);
+
+    int runs = Math.max(1, samples);
+    long[] timings = new long[runs];
+    for (int i = 0; i < runs; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE_PASSWORD);
+      timings[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(timings);
+    double p50 = timings[runs / 2] / 1_000_000.0;
+    LOGGER.debug("Calibration sample {}: p50 {} ms", parameters, p50);
+    return p50;
+  }
+
+  private void registerGauges() {
+    Gauge.builder("password.hash.calibration.p50", this, calibrator -> calibrator.measuredP50Ms)
+        .baseUnit("milliseconds")
+        .register(meterRegistry);
+    Gauge.builder("password.hash.calibration.bcrypt.cost", hasher, h -> h.getParameters().getBcryptCost())
+        .register(meterRegistry);
+    Gauge.builder("password.hash.calibration.argon2.memory", hasher, h -> h.getParameters().getArgon2MemoryKib())
+        .baseUnit("kibibytes")
+        .register(meterRegistry);
+    Gauge.builder("password.hash.calibration.argon2.iterations", hasher,
+        h -> h.getParameters().getArgon2Iterations())
+        .register(meterRegistry);
+    Gauge.builder("password.hash.calibration.scrypt.cpu.cost", hasher, h -> h.getParameters().getScryptCpuCost())
+        .register(meterRegistry);
+  }
+
+}
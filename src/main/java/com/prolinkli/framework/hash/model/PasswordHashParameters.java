@@ -0,0 +1,31 @@
+package com.prolinkli.framework.hash.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cost parameters for every supported password encoder, plus the algorithm
+ * used for new hashes. Stored hashes created with weaker parameters than
+ * these are rehashed on the next successful login.
+ */
+@Data
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@NoArgsConstructor
+public class PasswordHashParameters {
+
+  private String algorithm;
+
+  private int bcryptCost;
+
+  private int argon2MemoryKib;
+  private int argon2Iterations;
+  private int argon2Parallelism;
+
+  private int scryptCpuCost;
+  private int scryptMemoryCost;
+  private int scryptParallelization;
+
+}
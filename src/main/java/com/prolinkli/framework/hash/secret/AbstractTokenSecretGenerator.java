@@ -0,0 +1,31 @@
+package com.prolinkli.framework.hash.secret;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Base64url-encodes {@link TokenSecretGenerator#SECRET_BYTES} bytes drawn from
+ * a single shared {@link SecureRandom}, so no generator is seeded per call.
+ */
+public abstract class AbstractTokenSecretGenerator implements TokenSecretGenerator {
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private final SecureRandom random;
+
+  protected AbstractTokenSecretGenerator(SecureRandom random) {
+    this.random = random;
+  }
+
+  @Override
+  public String generate() {
+    byte[] bytes = new byte[SECRET_BYTES];
+    random.nextBytes(bytes);
+    return ENCODER.encodeToString(bytes);
+  }
+
+  public String getAlgorithm() {
+    return random.getAlgorithm();
+  }
+
+}
@@ -0,0 +1,32 @@
+package com.prolinkli.framework.hash.secret;
+
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default strategy: a NIST SP 800-90A DRBG instantiated once at 256-bit
+ * strength. It reseeds itself from the platform entropy source and is safe to
+ * share between threads.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-secret.strategy", havingValue = "drbg", matchIfMissing = true)
+public class DrbgTokenSecretGenerator extends AbstractTokenSecretGenerator {
+
+  public DrbgTokenSecretGenerator() {
+    super(createDrbg());
+  }
+
+  private static SecureRandom createDrbg() {
+    try {
+      return SecureRandom.getInstance("DRBG",
+          DrbgParameters.instantiation(256, DrbgParameters.Capability.RESEED_ONLY, null));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("DRBG SecureRandom is not available", e);
+    }
+  }
+
+}
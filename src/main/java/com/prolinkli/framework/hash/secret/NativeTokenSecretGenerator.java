@@ -0,0 +1,30 @@
+package com.prolinkli.framework.hash.secret;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Alternative strategy reading the operating system generator
+ * ({@code /dev/urandom}) without blocking. Useful where the JDK DRBG is
+ * restricted by a security provider configuration.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-secret.strategy", havingValue = "native")
+public class NativeTokenSecretGenerator extends AbstractTokenSecretGenerator {
+
+  public NativeTokenSecretGenerator() {
+    super(createNative());
+  }
+
+  private static SecureRandom createNative() {
+    try {
+      return SecureRandom.getInstance("NativePRNGNonBlocking");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("NativePRNGNonBlocking SecureRandom is not available", e);
+    }
+  }
+
+}
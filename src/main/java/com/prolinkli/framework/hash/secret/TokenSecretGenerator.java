@@ -0,0 +1,22 @@
+package com.prolinkli.framework.hash.secret;
+
+/**
+ * Produces the random secrets that identify issued tokens (the
+ * {@code secret} claim and {@code jwt_tokens.token_secret}).
+ *
+ * Secrets only need to be unpredictable and unique; they are compared as-is
+ * and never hashed. Implementations must be thread-safe.
+ */
+public interface TokenSecretGenerator {
+
+  /**
+   * Number of random bytes in a secret (256 bits).
+   */
+  int SECRET_BYTES = 32;
+
+  /**
+   * @return a new URL-safe secret with {@link #SECRET_BYTES} bytes of entropy
+   */
+  String generate();
+
+}
@@ -0,0 +1,205 @@
+package com.prolinkli.framework.hash.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.prolinkli.framework.exception.exceptions.model.ServiceOverloadedException;
+import com.prolinkli.framework.hash.Hasher;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs password hashing and verification on a dedicated, bounded worker pool
+ * instead of on request threads.
+ *
+ * The pool has about one worker per core and a bounded queue. When the queue
+ * is full, callers are rejected immediately with
+ * {@link ServiceOverloadedException} (503 + Retry-After) rather than piling
+ * up, so a login burst cannot starve the servlet thread pool.
+ *
+ * Metrics: {@code password.hash.queue.depth}, {@code password.hash.active},
+ * {@code password.hash.duration} (tag {@code operation}),
+ * {@code password.hash.queue.wait} and {@code password.hash.rejected}.
+ */
+@Service
+public class PasswordHashService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PasswordHashService.class);
+
+  @Value("${hash.executor.threads:0}")
+  private int threads;
+
+  @Value("${hash.executor.queue-capacity:64}")
+  private int queueCapacity;
+
+  @Value("${hash.executor.timeout-ms:5000}")
+  private long timeoutMs;
+
+  @Value("${hash.executor.retry-after-seconds:1}")
+  private long retryAfterSeconds;
+
+  private final MeterRegistry meterRegistry;
+
+  private final Hasher hasher;
+
+  private ThreadPoolExecutor executor;
+
+  private Timer hashTimer;
+  private Timer verifyTimer;
+  private Timer queueWaitTimer;
+  private Counter rejectedCounter;
+
+  @Autowired
+  public PasswordHashService(MeterRegistry meterRegistry, Hasher hasher) {
+    this.meterRegistry = meterRegistry;
+    this.hasher = hasher;
+  }
+
+  @PostConstruct
+  void init() {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.executor = new ThreadPoolExecutor(
+        poolSize, poolSize,
+        0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new HashThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+
+    this.hashTimer = Timer.builder("password.hash.duration").tag("operation", "hash").register(meterRegistry);
+    this.verifyTimer = Timer.builder("password.hash.duration").tag("operation", "verify").register(meterRegistry);
+    this.queueWaitTimer = Timer.builder("password.hash.queue.wait").register(meterRegistry);
+    this.rejectedCounter = Counter.builder("password.hash.rejected").register(meterRegistry);
+    Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size()).register(meterRegistry);
+    Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+
+    LOGGER.info("Password hashing pool started with {} worker(s) and queue capacity {}", poolSize, queueCapacity);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Hashes a password on the hashing pool and waits for the result.
+   *
+   * @throws ServiceOverloadedException if the pool is saturated or the hash
+   *                                    does not complete in time
+   */
+  public String hash(String password) {
+    return await(hashAsync(password));
+  }
+
+  /**
+   * Verifies a password against a stored hash on the hashing pool and waits
+   * for the result.
+   *
+   * @throws ServiceOverloadedException if the pool is saturated or the check
+   *                                    does not complete in time
+   */
+  public boolean verify(String password, String hashed) {
+    return await(submit(() -> hasher.verifyString(password, hashed), verifyTimer));
+  }
+
+  /**
+   * Queues a hash without waiting for it.
+   *
+   * @throws ServiceOverloadedException if the pool is saturated
+   */
+  public CompletableFuture<String> hashAsync(String password) {
+    return submit(() -> hasher.hashString(password), hashTimer);
+  }
+
+  /**
+   * Number of worker threads, i.e. how many hashes can run at once.
+   */
+  public int getPoolSize() {
+    return executor.getCorePoolSize();
+  }
+
+  /**
+   * True when the stored hash should be replaced by one made with the current
+   * algorithm and parameters. Cheap; does not use the pool.
+   */
+  public boolean needsRehash(String hashed) {
+    return hasher.needsRehash(hashed);
+  }
+
+  private <T> CompletableFuture<T> submit(Callable<T> task, Timer timer) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    long enqueuedAt = System.nanoTime();
+    try {
+      executor.execute(() -> {
+        queueWaitTimer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+        if (future.isDone()) {
+          // The caller already gave up waiting; don't burn CPU on it
+          return;
+        }
+        long startedAt = System.nanoTime();
+        try {
+          future.complete(task.call());
+        } catch (Throwable t) {
+          future.completeExceptionally(t);
+        } finally {
+          timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new ServiceOverloadedException("Too many authentication requests, please retry shortly",
+          retryAfterSeconds);
+    }
+    return future;
+  }
+
+  private <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      future.cancel(false);
+      rejectedCounter.increment();
+      throw new ServiceOverloadedException("Authentication is taking too long, please retry shortly",
+          retryAfterSeconds);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+      throw new IllegalStateException("Password hashing failed", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    }
+  }
+
+  private static final class HashThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+}
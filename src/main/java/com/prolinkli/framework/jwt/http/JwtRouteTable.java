@@ -0,0 +1,199 @@
+package com.prolinkli.framework.jwt.http;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.security.access.prepost.PostAuthorize;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.prolinkli.framework.auth.model.CurrentUser;
+import com.prolinkli.framework.auth.model.PublicEndpoint;
+import com.prolinkli.framework.jwt.model.JwtAuthRequirement;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Precompiled table of how much JWT work each controller route needs, so the
+ * request filter can decide from the path alone.
+ *
+ * Built once from the handler mappings when the context is refreshed:
+ * - {@code @PreAuthorize}, {@code @PostAuthorize} or {@code @Secured} on the
+ * method or controller: {@link JwtAuthRequirement#EAGER}
+ * - {@code @PublicEndpoint} or no annotation at all, with a
+ * {@code @CurrentUser} parameter: {@link JwtAuthRequirement#LAZY}
+ * - {@code @PublicEndpoint} without a {@code @CurrentUser} parameter:
+ * {@link JwtAuthRequirement#NONE}
+ * - anything else, and paths no controller maps: EAGER, since the filter
+ * cannot know what reads the security context there
+ *
+ * Patterns are stored in a segment trie. Variables and single-segment
+ * wildcards share one child, {@code **} and {@code {*var}} a catch-all
+ * child. A request that matches several routes gets the strictest of them.
+ */
+@Component
+public class JwtRouteTable implements ApplicationListener<ContextRefreshedEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwtRouteTable.class);
+
+  private static final String HANDLER_MAPPING_BEAN = "requestMappingHandlerMapping";
+
+  // Replaced wholesale on refresh; null until the first refresh
+  private volatile Node root;
+
+  @Override
+  public void onApplicationEvent(ContextRefreshedEvent event) {
+    // Looked up here rather than injected so the filter does not pull the MVC
+    // infrastructure into the security configuration's dependency graph
+    ApplicationContext context = event.getApplicationContext();
+    if (!context.containsBean(HANDLER_MAPPING_BEAN)) {
+      return;
+    }
+    RequestMappingHandlerMapping handlerMapping = context.getBean(HANDLER_MAPPING_BEAN,
+        RequestMappingHandlerMapping.class);
+
+    Node newRoot = new Node();
+    int routes = 0;
+    for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+      JwtAuthRequirement requirement = classify(entry.getValue());
+      Set<RequestMethod> methods = entry.getKey().getMethodsCondition().getMethods();
+      for (String pattern : entry.getKey().getPatternValues()) {
+        newRoot.insert(split(pattern), 0, methods, requirement);
+        routes++;
+      }
+    }
+    root = newRoot;
+    LOGGER.info("JWT route table built with {} routes", routes);
+  }
+
+  /**
+   * @return the requirement for the request's path and method
+   */
+  public JwtAuthRequirement lookup(HttpServletRequest request) {
+    Node current = root;
+    if (current == null) {
+      return JwtAuthRequirement.EAGER;
+    }
+
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    RequestMethod method = RequestMethod.resolve(request.getMethod());
+    JwtAuthRequirement requirement = current.match(split(path), 0, method);
+    return requirement == null ? JwtAuthRequirement.EAGER : requirement;
+  }
+
+  private static JwtAuthRequirement classify(HandlerMethod handlerMethod) {
+    Method method = handlerMethod.getMethod();
+    Class<?> type = handlerMethod.getBeanType();
+
+    if (hasAnnotation(method, type, PreAuthorize.class)
+        || hasAnnotation(method, type, PostAuthorize.class)
+        || hasAnnotation(method, type, Secured.class)) {
+      return JwtAuthRequirement.EAGER;
+    }
+
+    boolean readsCurrentUser = false;
+    for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+      readsCurrentUser |= parameter.hasParameterAnnotation(CurrentUser.class);
+    }
+    if (readsCurrentUser) {
+      return JwtAuthRequirement.LAZY;
+    }
+
+    return hasAnnotation(method, type, PublicEndpoint.class) ? JwtAuthRequirement.NONE : JwtAuthRequirement.EAGER;
+  }
+
+  private static boolean hasAnnotation(Method method, Class<?> type,
+      Class<? extends Annotation> annotation) {
+    return AnnotatedElementUtils.hasAnnotation(method, annotation)
+        || AnnotatedElementUtils.hasAnnotation(type, annotation);
+  }
+
+  private static String[] split(String path) {
+    return Arrays.stream(path.split("/"))
+        .filter(segment -> !segment.isEmpty())
+        .toArray(String[]::new);
+  }
+
+  private static final class Node {
+
+    private final Map<String, Node> literals = new HashMap<>();
+    private Node variable;
+    private Node catchAll;
+
+    // Requirement by HTTP method; routes mapped without a method use anyMethod
+    private final Map<RequestMethod, JwtAuthRequirement> methods = new EnumMap<>(RequestMethod.class);
+    private JwtAuthRequirement anyMethod;
+
+    void insert(String[] segments, int index, Set<RequestMethod> requestMethods, JwtAuthRequirement requirement) {
+      if (index == segments.length) {
+        if (requestMethods.isEmpty()) {
+          anyMethod = requirement.strictest(anyMethod);
+        } else {
+          for (RequestMethod requestMethod : requestMethods) {
+            methods.merge(requestMethod, requirement, JwtAuthRequirement::strictest);
+          }
+        }
+        return;
+      }
+
+      String segment = segments[index];
+      if (segment.equals("**") || segment.startsWith("{*")) {
+        if (catchAll == null) {
+          catchAll = new Node();
+        }
+        // Nothing after a catch-all can narrow the match
+        catchAll.insert(segments, segments.length, requestMethods, requirement);
+      } else if (segment.contains("{") || segment.contains("*") || segment.contains("?")) {
+        if (variable == null) {
+          variable = new Node();
+        }
+        variable.insert(segments, index + 1, requestMethods, requirement);
+      } else {
+        literals.computeIfAbsent(segment, key -> new Node()).insert(segments, index + 1, requestMethods, requirement);
+      }
+    }
+
+    JwtAuthRequirement match(String[] segments, int index, RequestMethod requestMethod) {
+      JwtAuthRequirement result = catchAll == null ? null : catchAll.here(requestMethod);
+      if (index == segments.length) {
+        return combine(result, here(requestMethod));
+      }
+
+      Node literal = literals.get(segments[index]);
+      if (literal != null) {
+        result = combine(result, literal.match(segments, index + 1, requestMethod));
+      }
+      if (variable != null) {
+        result = combine(result, variable.match(segments, index + 1, requestMethod));
+      }
+      return result;
+    }
+
+    private JwtAuthRequirement here(RequestMethod requestMethod) {
+      JwtAuthRequirement forMethod = requestMethod == null ? null : methods.get(requestMethod);
+      return combine(forMethod, anyMethod);
+    }
+
+    private static JwtAuthRequirement combine(JwtAuthRequirement a, JwtAuthRequirement b) {
+      return a == null ? b : a.strictest(b);
+    }
+  }
+
+}
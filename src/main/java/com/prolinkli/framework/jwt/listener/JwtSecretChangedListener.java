@@ -0,0 +1,45 @@
+package com.prolinkli.framework.jwt.listener;
+
+import com.prolinkli.framework.config.secrets.event.SecretChangedEvent;
+import com.prolinkli.framework.jwt.service.JwtHmacKeyService;
+import com.prolinkli.framework.jwt.service.JwtKeyRingService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rotates the JWT signing and verification keys when their secrets change in
+ * Vault.
+ */
+@Component
+public class JwtSecretChangedListener implements ApplicationListener<SecretChangedEvent> {
+
+  private final static Logger LOGGER = LoggerFactory.getLogger(JwtSecretChangedListener.class);
+
+  private static final String JWT_PATH = "jwt";
+
+  @Autowired
+  private JwtHmacKeyService jwtHmacKeyService;
+
+  @Autowired
+  private JwtKeyRingService jwtKeyRingService;
+
+  @Override
+  public void onApplicationEvent(SecretChangedEvent event) {
+
+    if (event.affects(JWT_PATH, "JWT_SECRET")) {
+      LOGGER.info("JWT_SECRET changed (version {}), rotating HMAC key", event.getVersion());
+      jwtHmacKeyService.rotate();
+    }
+
+    if (event.affects(JWT_PATH, "JWT_SIGNING_KEYS") && jwtKeyRingService.isAsymmetric()) {
+      LOGGER.info("JWT_SIGNING_KEYS changed (version {}), reloading key ring", event.getVersion());
+      jwtKeyRingService.reload();
+    }
+
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.prolinkli.framework.jwt.model;
+
+/**
+ * How much JWT work a route needs before its handler runs. Declared from
+ * least to most strict.
+ */
+public enum JwtAuthRequirement {
+
+  /**
+   * The handler never reads the principal; the token is not looked at.
+   */
+  NONE,
+
+  /**
+   * Only {@code @CurrentUser} parameters read the principal; the token is
+   * verified when they are resolved.
+   */
+  LAZY,
+
+  /**
+   * Method security or unknown code may read the security context; the filter
+   * verifies the token up front.
+   */
+  EAGER;
+
+  public JwtAuthRequirement strictest(JwtAuthRequirement other) {
+    return other == null || compareTo(other) >= 0 ? this : other;
+  }
+
+}
@@ -0,0 +1,77 @@
+package com.prolinkli.framework.jwt.model;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+
+/**
+ * Signing modes supported by the JWT services.
+ *
+ * HS256 keeps the legacy behaviour (shared HMAC secret from Vault). ES256 and
+ * EDDSA sign with a private key from the key ring so that other services can
+ * verify tokens with the published JWKS alone.
+ */
+public enum JwtSigningAlgorithm {
+  HS256("HS256", null, null, null),
+  ES256("ES256", Jwts.SIG.ES256, "EC", "secp256r1"),
+  EDDSA("EdDSA", Jwts.SIG.EdDSA, "Ed25519", null);
+
+  private final String jwaName;
+  private final SignatureAlgorithm signatureAlgorithm;
+  private final String keyAlgorithm;
+  private final String curve;
+
+  JwtSigningAlgorithm(String jwaName, SignatureAlgorithm signatureAlgorithm, String keyAlgorithm, String curve) {
+    this.jwaName = jwaName;
+    this.signatureAlgorithm = signatureAlgorithm;
+    this.keyAlgorithm = keyAlgorithm;
+    this.curve = curve;
+  }
+
+  /**
+   * The JWA name as it appears in the {@code alg} header and in the JWKS.
+   */
+  public String getJwaName() {
+    return jwaName;
+  }
+
+  /**
+   * The jjwt signature algorithm, or null for HS256.
+   */
+  public SignatureAlgorithm getSignatureAlgorithm() {
+    return signatureAlgorithm;
+  }
+
+  /**
+   * The JCA algorithm name used with {@link java.security.KeyFactory} and
+   * {@link java.security.KeyPairGenerator}.
+   */
+  public String getKeyAlgorithm() {
+    return keyAlgorithm;
+  }
+
+  /**
+   * The named curve for EC keys, null when the algorithm implies its curve.
+   */
+  public String getCurve() {
+    return curve;
+  }
+
+  public boolean isAsymmetric() {
+    return signatureAlgorithm != null;
+  }
+
+  /**
+   * Resolves a configuration or JWKS value (case-insensitive JWA name or enum
+   * name) to an algorithm.
+   *
+   * @throws IllegalArgumentException if the value is not supported
+   */
+  public static JwtSigningAlgorithm fromValue(String value) {
+    for (JwtSigningAlgorithm algorithm : values()) {
+      if (algorithm.name().equalsIgnoreCase(value) || algorithm.jwaName.equalsIgnoreCase(value)) {
+        return algorithm;
+      }
+    }
+    throw new IllegalArgumentException("Unsupported JWT signing algorithm: " + value);
+  }
+}
@@ -0,0 +1,38 @@
+package com.prolinkli.framework.jwt.model;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single entry in the JWT key ring.
+ *
+ * A key is published in the JWKS as soon as it is loaded, is used for signing
+ * between {@code activeFrom} and {@code retireAt}, and stays verifiable until
+ * every token it signed has expired.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JwtSigningKey {
+
+  private String kid;
+  private JwtSigningAlgorithm algorithm;
+  private PrivateKey privateKey;
+  private PublicKey publicKey;
+  private Instant activeFrom;
+  private Instant retireAt;
+
+  public boolean canSignAt(Instant instant) {
+    return privateKey != null
+        && (activeFrom == null || !instant.isBefore(activeFrom))
+        && (retireAt == null || instant.isBefore(retireAt));
+  }
+
+}
@@ -0,0 +1,15 @@
+package com.prolinkli.framework.jwt.model;
+
+/**
+ * How access tokens are checked on each request.
+ *
+ * STATEFUL looks the token secret and user up in the database on every
+ * request, so a logout takes effect immediately everywhere. STATELESS accepts
+ * access tokens on signature, expiry and the node-local revocation filter, and
+ * leaves the database checks to refresh; a revoked token can then stay usable
+ * on other nodes until it expires.
+ */
+public enum JwtVerificationMode {
+  STATEFUL,
+  STATELESS
+}
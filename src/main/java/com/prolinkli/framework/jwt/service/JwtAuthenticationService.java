@@ -0,0 +1,97 @@
+package com.prolinkli.framework.jwt.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import com.prolinkli.framework.jwt.event.JwtExpirationEvent;
+import com.prolinkli.framework.jwt.model.AuthToken;
+import com.prolinkli.framework.jwt.model.AuthTokenType;
+import com.prolinkli.framework.jwt.model.JWTTokenExpiredException;
+import com.prolinkli.framework.jwt.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Turns the JWT cookies of a request into a Spring Security
+ * {@link Authentication}. Used up front by the request filter, and on demand
+ * by the {@code @CurrentUser} resolver for routes the filter skips.
+ */
+@Service
+public class JwtAuthenticationService {
+
+  // Set once a request's cookies have been looked at, whatever the outcome
+  private static final String ATTEMPTED_ATTRIBUTE = JwtAuthenticationService.class.getName() + ".attempted";
+
+  @Autowired
+  private JwtVerifyService jwtVerifyService;
+
+  @Autowired
+  private ApplicationEventPublisher eventPublisher;
+
+  /**
+   * Verifies the request's access token and stores the result in the security
+   * context. Runs at most once per request; later calls return whatever is in
+   * the context.
+   *
+   * @return the authentication, or null if the request carries no valid token
+   * @throws JWTTokenExpiredException if the access token has expired
+   */
+  public Authentication authenticate(HttpServletRequest request, HttpServletResponse response) {
+    Authentication current = SecurityContextHolder.getContext().getAuthentication();
+    if (request.getAttribute(ATTEMPTED_ATTRIBUTE) != null) {
+      return isJwtAuthentication(current) ? current : null;
+    }
+    request.setAttribute(ATTEMPTED_ATTRIBUTE, Boolean.TRUE);
+
+    AuthToken authToken = JwtUtil.extractJwtFromCookies(request);
+    if (authToken == null) {
+      return null;
+    }
+    String token = authToken.getAccessToken();
+
+    // Parsed and verified once; the claims are read from the result below
+    Claims claims;
+    try {
+      claims = token == null ? null : jwtVerifyService.verifyTokenClaims(token, AuthTokenType.ACCESS, response);
+      if (claims == null) {
+        return null;
+      }
+    } catch (JWTTokenExpiredException e) {
+      eventPublisher.publishEvent(new JwtExpirationEvent(this, authToken));
+      // publish then throw
+      throw e;
+    }
+
+    // Extract user information from the verified claims
+    Long userId = jwtVerifyService.extractUserId(claims);
+
+    // Roles and permissions were embedded when the token was issued
+    List<GrantedAuthority> grantedAuthorities = jwtVerifyService.extractAuthorities(claims);
+
+    Authentication authentication = new UsernamePasswordAuthenticationToken(
+        userId, // principal - user ID from JWT
+        authToken, // credentials - not used here
+        grantedAuthorities // authorities from JWT
+    );
+
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+    return authentication;
+  }
+
+  private static boolean isJwtAuthentication(Authentication authentication) {
+    return authentication != null
+        && authentication.isAuthenticated()
+        && !(authentication instanceof AnonymousAuthenticationToken);
+  }
+
+}
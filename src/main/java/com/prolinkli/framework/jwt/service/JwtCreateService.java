@@ -1,5 +1,6 @@
 package com.prolinkli.framework.jwt.service;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import com.prolinkli.core.app.Constants.Jwt;
@@ -8,11 +9,15 @@ import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.db.model.generated.JwtTokenDb;
 import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.db.dao.DaoFactory;
-import com.prolinkli.framework.hash.Hasher;
+import com.prolinkli.framework.hash.secret.TokenSecretGenerator;
 import com.prolinkli.framework.jwt.model.AuthToken;
 import com.prolinkli.framework.jwt.model.AuthToken.AuthTokenBuilder;
+import com.prolinkli.framework.jwt.model.JwtSigningKey;
 import com.prolinkli.framework.jwt.provider.AuthTokenProvider;
 import com.prolinkli.framework.jwt.util.JwtUtil;
+import com.prolinkli.framework.permission.model.UserAuthorities;
+import com.prolinkli.framework.permission.service.UserAuthorityGetService;
+import com.prolinkli.framework.permission.util.AuthorityClaimsUtil;
 import com.prolinkli.framework.util.map.MapUtil;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +26,7 @@ import org.springframework.stereotype.Service;
 
 import com.prolinkli.framework.config.secrets.SecretsManager;
 
+import io.jsonwebtoken.JwtBuilder;
 import io.jsonwebtoken.Jwts;
 
 @Service
@@ -28,6 +34,14 @@ public class JwtCreateService {
 
   private final SecretsManager secretsManager;
 
+  private final JwtKeyRingService jwtKeyRingService;
+
+  private final JwtHmacKeyService jwtHmacKeyService;
+
+  private final UserAuthorityGetService userAuthorityGetService;
+
+  private final TokenSecretGenerator tokenSecretGenerator;
+
   @Value("${jwt.expiration:3600}")
   private long jwtExpiration;
 
@@ -39,9 +53,15 @@ public class JwtCreateService {
   private final AuthTokenProvider authTokenProvider = new AuthTokenProvider();
 
   @Autowired
-  public JwtCreateService(DaoFactory daoFactory, SecretsManager secretsManager) {
+  public JwtCreateService(DaoFactory daoFactory, SecretsManager secretsManager, JwtKeyRingService jwtKeyRingService,
+      JwtHmacKeyService jwtHmacKeyService, UserAuthorityGetService userAuthorityGetService,
+      TokenSecretGenerator tokenSecretGenerator) {
     this.dao = daoFactory.getDao(JwtTokenDb.class, Long.class);
     this.secretsManager = secretsManager;
+    this.jwtKeyRingService = jwtKeyRingService;
+    this.jwtHmacKeyService = jwtHmacKeyService;
+    this.userAuthorityGetService = userAuthorityGetService;
+    this.tokenSecretGenerator = tokenSecretGenerator;
   }
 
   // need to have a method to create JWT token and store it in the database for
@@ -63,20 +83,9 @@ public class JwtCreateService {
     // This token secret is used to *identify* the token and should be securely stored
     // It is cross-referenced in the database to validate the token and make sure 
     // that it can be revoked if needed.
-    String tokenSecret = Hasher.generateRandomHash(); // Generate a random token secret
-
-    // TODO: add here as needed
-    Map<String, Object> userClaims = Map.of(
-        Jwt.USER_ID_CLAIMS_KEY, user.getId(),
-        Jwt.USERNAME_CLAIMS_KEY, user.getUsername(),
-        Jwt.SECRET_CLAIMS_KEY, tokenSecret // Include user secret if needed
-    );
+    String tokenSecret = generateTokenSecret();
 
-    // Merge user claims with any additional claims
-    Map<String, Object> finalClaims = MapUtil.merge(userClaims, claims);
-
-    AuthToken jwtTokens = createJwtToken(finalClaims);
-    jwtTokens.setId(user.getId());
+    AuthToken jwtTokens = createJwtTokensForUser(user, claims, tokenSecret);
 
     JwtTokenDb jwtTokenDb = authTokenProvider.map(jwtTokens);
     jwtTokenDb.setExpiresAt(JwtUtil.getExpirationDate(jwtExpiration));
@@ -90,15 +99,68 @@ public class JwtCreateService {
     return authorizedUser;
   }
 
+  /**
+   * Signs an access/refresh token pair for the user around the given token
+   * secret without touching the database. Callers are responsible for
+   * persisting the secret (see {@link JwtSaveService#regenerateTokens}).
+   */
+  public AuthToken createJwtTokensForUser(User user, Map<String, Object> claims, String tokenSecret) {
+    return createJwtTokensForUser(user, claims, tokenSecret, userAuthorityGetService.getUserAuthorities(user.getId()));
+  }
+
+  /**
+   * Same as {@link #createJwtTokensForUser(User, Map, String)} with the user's
+   * authorities already known (e.g. a brand new user has none).
+   */
+  public AuthToken createJwtTokensForUser(User user, Map<String, Object> claims, String tokenSecret,
+      UserAuthorities authorities) {
+    Map<String, Object> userClaims = new HashMap<>();
+    userClaims.put(Jwt.USER_ID_CLAIMS_KEY, user.getId());
+    userClaims.put(Jwt.USERNAME_CLAIMS_KEY, user.getUsername());
+    userClaims.put(Jwt.SECRET_CLAIMS_KEY, tokenSecret);
+    // Roles and permissions are resolved once here so that requests can be
+    // authorized from the verified token alone
+    userClaims.putAll(AuthorityClaimsUtil.toClaims(authorities));
+
+    // Merge additional claims underneath; the reserved claims above always win
+    Map<String, Object> finalClaims = MapUtil.merge(claims, userClaims);
+
+    AuthToken jwtTokens = createJwtToken(finalClaims);
+    jwtTokens.setId(user.getId());
+
+    return jwtTokens;
+  }
+
+  /**
+   * Generates a new random token secret.
+   */
+  public String generateTokenSecret() {
+    return tokenSecretGenerator.generate();
+  }
+
   private String createToken(Map<String, Object> claims, Long expiration) {
-    return Jwts.builder()
+    JwtBuilder builder = Jwts.builder()
         .claims()
         .issuer(secretsManager.getJwtIssuer()) // Set the issuer
         .add(claims)
         .expiration(JwtUtil.getExpirationDate(expiration)) // Set expiration
-        .and()
-        // Set expiration, signing key, etc. as needed
-        .signWith(JwtUtil.getHmacShaKey(secretsManager.getJwtSecret()))
+        .and();
+
+    if (jwtKeyRingService.isAsymmetric()) {
+      // Sign with the active key ring entry; the kid lets verifiers pick the
+      // matching public key from the JWKS.
+      JwtSigningKey signingKey = jwtKeyRingService.getSigningKey();
+      return builder
+          .header().keyId(signingKey.getKid()).and()
+          .signWith(signingKey.getPrivateKey(), signingKey.getAlgorithm().getSignatureAlgorithm())
+          .compact();
+    }
+
+    // The kid is a fingerprint of the HMAC key so verifiers can keep
+    // accepting the previous key while a rotated secret rolls out
+    return builder
+        .header().keyId(jwtHmacKeyService.getSigningKid()).and()
+        .signWith(jwtHmacKeyService.getSigningKey())
         .compact();
   }
 
@@ -0,0 +1,180 @@
+package com.prolinkli.framework.jwt.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.crypto.SecretKey;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.prolinkli.framework.config.secrets.SecretsManager;
+import com.prolinkli.framework.jwt.util.JwtUtil;
+
+/**
+ * Holds the HMAC key derived from {@code JWT_SECRET}.
+ *
+ * HMAC tokens carry a {@code kid} that is a short fingerprint of the key.
+ * When the secret is rotated in Vault, the previous key stays valid for
+ * verification for {@code secrets.rotation.overlap-seconds} so sessions
+ * signed before the rotation are not dropped. Tokens without a {@code kid}
+ * (issued before fingerprints were added) only verify against the current
+ * key.
+ *
+ * A token with an unknown {@code hs-} kid was most likely signed by a node
+ * that has already picked up a rotated secret. The secret is then re-read
+ * before the token is rejected, at most once per
+ * {@code jwt.hmac.unknown-kid-reload-seconds}.
+ */
+@Service
+public class JwtHmacKeyService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwtHmacKeyService.class);
+
+  private static final int KID_BYTES = 8;
+
+  private static final String KID_PREFIX = "hs-";
+
+  private final SecretsManager secretsManager;
+
+  @Value("${secrets.rotation.overlap-seconds:7200}")
+  private long overlapSeconds;
+
+  @Value("${jwt.hmac.unknown-kid-reload-seconds:30}")
+  private long unknownKidReloadSeconds;
+
+  private final AtomicLong nextUnknownKidReloadAt = new AtomicLong();
+
+  private volatile HmacKeys keys;
+
+  // A lock rather than synchronized: the secret is read from Vault while it is
+  // held, and a virtual thread blocking inside a monitor pins its carrier
+  private final ReentrantLock lock = new ReentrantLock();
+
+  @Autowired
+  public JwtHmacKeyService(SecretsManager secretsManager) {
+    this.secretsManager = secretsManager;
+  }
+
+  public SecretKey getSigningKey() {
+    return currentKeys().current;
+  }
+
+  public String getSigningKid() {
+    return currentKeys().currentKid;
+  }
+
+  /**
+   * The key for a token's {@code kid}, or null if the kid is unknown (even
+   * after a reload) or its overlap window has ended.
+   */
+  public SecretKey getVerificationKey(String kid) {
+    SecretKey key = findKey(currentKeys(), kid);
+    if (key == null && kid.startsWith(KID_PREFIX) && tryStartUnknownKidReload()) {
+      LOGGER.info("Unknown JWT HMAC key id {}, re-reading the secret", kid);
+      secretsManager.refreshJwtSecrets();
+      rotate();
+      key = findKey(currentKeys(), kid);
+    }
+    return key;
+  }
+
+  private static SecretKey findKey(HmacKeys snapshot, String kid) {
+    if (kid == null || kid.equals(snapshot.currentKid)) {
+      return snapshot.current;
+    }
+    if (kid.equals(snapshot.previousKid) && Instant.now().isBefore(snapshot.previousUntil)) {
+      return snapshot.previous;
+    }
+    return null;
+  }
+
+  /**
+   * Rate limit for reloads triggered by unknown kids, so forged or stale
+   * tokens cannot hammer the secret backend.
+   */
+  private boolean tryStartUnknownKidReload() {
+    long now = System.currentTimeMillis();
+    long next = nextUnknownKidReloadAt.get();
+    return now >= next && nextUnknownKidReloadAt.compareAndSet(next, now + unknownKidReloadSeconds * 1000);
+  }
+
+  /**
+   * Re-reads the secret and, if it changed, makes it the signing key while
+   * keeping the old key for the overlap window.
+   */
+  public void rotate() {
+    lock.lock();
+    try {
+      HmacKeys snapshot = currentKeys();
+      String secret = secretsManager.getJwtSecret();
+      String kid = fingerprint(secret);
+      if (kid.equals(snapshot.currentKid)) {
+        return;
+      }
+      this.keys = new HmacKeys(JwtUtil.getSecretKey(secret), kid, snapshot.current, snapshot.currentKid,
+          Instant.now().plusSeconds(overlapSeconds));
+      LOGGER.info("Rotated JWT HMAC key {} -> {}; previous key accepted for {}s", snapshot.currentKid, kid,
+          overlapSeconds);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private HmacKeys currentKeys() {
+    HmacKeys snapshot = this.keys;
+    if (snapshot == null) {
+      lock.lock();
+      try {
+        snapshot = this.keys;
+        if (snapshot == null) {
+          String secret = secretsManager.getJwtSecret();
+          snapshot = new HmacKeys(JwtUtil.getSecretKey(secret), fingerprint(secret), null, null, Instant.EPOCH);
+          this.keys = snapshot;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return snapshot;
+  }
+
+  private static String fingerprint(String secret) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+      return KID_PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, KID_BYTES));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Immutable snapshot of the current and previous keys.
+   */
+  private static final class HmacKeys {
+
+    private final SecretKey current;
+    private final String currentKid;
+    private final SecretKey previous;
+    private final String previousKid;
+    private final Instant previousUntil;
+
+    private HmacKeys(SecretKey current, String currentKid, SecretKey previous, String previousKid,
+        Instant previousUntil) {
+      this.current = current;
+      this.currentKid = currentKid;
+      this.previous = previous;
+      this.previousKid = previousKid;
+      this.previousUntil = previousUntil;
+    }
+  }
+}
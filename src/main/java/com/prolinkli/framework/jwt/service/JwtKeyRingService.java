@@ -0,0 +1,341 @@
+package com.prolinkli.framework.jwt.service;
+
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prolinkli.framework.config.secrets.SecretsManager;
+import com.prolinkli.framework.jwt.model.JwtSigningAlgorithm;
+import com.prolinkli.framework.jwt.model.JwtSigningKey;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Holds the signing keys used by {@link JwtCreateService} and the verification
+ * keys used by {@link JwtVerifyService}.
+ *
+ * Keys are read from the {@code JWT_SIGNING_KEYS} secret as a JSON array:
+ *
+ * <pre>
+ * [{"kid": "2025-08", "alg": "ES256",
+ *   "privateKey": "base64 PKCS#8", "publicKey": "base64 X.509",
+ *   "activeFrom": "2025-08-01T00:00:00Z", "retireAt": "2025-09-01T00:00:00Z"}]
+ * </pre>
+ *
+ * Rotation works by overlapping windows: a new key is added with a future
+ * {@code activeFrom} so it appears in the JWKS before it signs anything, and a
+ * retired key stays in the JWKS for the refresh-token lifetime after
+ * {@code retireAt} so tokens it already signed keep verifying.
+ *
+ * When an asymmetric algorithm is configured but no keys can be read at
+ * startup, startup fails: every node would otherwise sign with its own random
+ * key. A single-instance development setup can set
+ * {@code jwt.signing.allow-ephemeral-key=true} to generate one instead.
+ */
+@Service
+public class JwtKeyRingService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwtKeyRingService.class);
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final SecretsManager secretsManager;
+
+  private final JwtHmacKeyService jwtHmacKeyService;
+
+  @Value("${jwt.signing.algorithm:HS256}")
+  private String signingAlgorithm;
+
+  @Value("${jwt.signing.accept-legacy-hmac:true}")
+  private boolean acceptLegacyHmac;
+
+  @Value("${jwt.signing.reload-seconds:300}")
+  private long reloadSeconds;
+
+  @Value("${jwt.signing.allow-ephemeral-key:false}")
+  private boolean allowEphemeralKey;
+
+  @Value("${jwt.refreshExpiration:7200}")
+  private long jwtRefreshExpiration;
+
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  private volatile KeyRing keyRing = KeyRing.EMPTY;
+
+  private JwtSigningAlgorithm algorithm;
+
+  @Autowired
+  public JwtKeyRingService(SecretsManager secretsManager, JwtHmacKeyService jwtHmacKeyService) {
+    this.secretsManager = secretsManager;
+    this.jwtHmacKeyService = jwtHmacKeyService;
+  }
+
+  @PostConstruct
+  void init() {
+    this.algorithm = JwtSigningAlgorithm.fromValue(signingAlgorithm);
+    if (algorithm.isAsymmetric()) {
+      reload();
+    }
+  }
+
+  public JwtSigningAlgorithm getAlgorithm() {
+    return algorithm;
+  }
+
+  public boolean isAsymmetric() {
+    return algorithm.isAsymmetric();
+  }
+
+  /**
+   * Returns the key that should sign new tokens right now: the most recently
+   * activated key that has not been retired.
+   *
+   * @throws IllegalStateException if no key is currently active
+   */
+  public JwtSigningKey getSigningKey() {
+    Instant now = Instant.now();
+    return currentKeyRing().keys.stream()
+        .filter(key -> key.canSignAt(now))
+        .max(Comparator.comparing(key -> key.getActiveFrom() == null ? Instant.EPOCH : key.getActiveFrom()))
+        .orElseThrow(() -> new IllegalStateException("No active JWT signing key in the key ring"));
+  }
+
+  /**
+   * Returns the published key with the given id, or null if it is unknown or
+   * past its verification window.
+   */
+  public JwtSigningKey getVerificationKey(String kid) {
+    return currentKeyRing().keysById.get(kid);
+  }
+
+  /**
+   * The JWKS document ({@code {"keys": [...]}}) for all currently published
+   * public keys. Built once per reload.
+   */
+  public Map<String, Object> getJwks() {
+    return currentKeyRing().jwks;
+  }
+
+  /**
+   * A strong ETag for the current JWKS document.
+   */
+  public String getJwksETag() {
+    return currentKeyRing().jwksETag;
+  }
+
+  /**
+   * Key locator for the jjwt parser. HMAC tokens are checked against the
+   * current or previous HMAC key, so sessions issued before a switch to
+   * asymmetric signing or before a secret rotation stay valid. Other tokens
+   * are checked against the key ring by {@code kid}.
+   */
+  public LocatorAdapter<Key> getKeyLocator() {
+    return new LocatorAdapter<>() {
+      @Override
+      protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        if (header.getAlgorithm() != null && header.getAlgorithm().startsWith("HS")) {
+          if (isAsymmetric() && !acceptLegacyHmac) {
+            return null;
+          }
+          Key key = jwtHmacKeyService.getVerificationKey(kid);
+          if (key == null) {
+            LOGGER.debug("Unknown or retired JWT HMAC key id: {}", kid);
+          }
+          return key;
+        }
+        if (kid == null) {
+          return null;
+        }
+        JwtSigningKey key = getVerificationKey(kid);
+        if (key == null) {
+          LOGGER.debug("Unknown JWT key id: {}", kid);
+          return null;
+        }
+        return key.getPublicKey();
+      }
+    };
+  }
+
+  /**
+   * Reloads the key ring from the secret store, waiting for a reload already
+   * in progress so the result reflects the latest stored keys.
+   */
+  public void reload() {
+    reloadLock.lock();
+    try {
+      loadKeyRing();
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Periodic reload from the request path. Concurrent callers keep using the
+   * previous snapshot instead of waiting.
+   */
+  private void reloadIfIdle() {
+    if (!reloadLock.tryLock()) {
+      return;
+    }
+    try {
+      loadKeyRing();
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  private void loadKeyRing() {
+    List<JwtSigningKey> keys = loadKeys();
+    if (keys.isEmpty()) {
+      if (!keyRing.keys.isEmpty()) {
+        LOGGER.warn("JWT signing keys could not be read, keeping the previous key ring");
+        keys = keyRing.keys;
+      } else if (allowEphemeralKey) {
+        LOGGER.error("No JWT signing keys could be read, generating an ephemeral {} key pair; tokens will not "
+            + "verify on other nodes or after a restart", algorithm);
+        keys = List.of(generateEphemeralKey());
+      } else {
+        LOGGER.error("No JWT signing keys could be read for {}", algorithm);
+        throw new IllegalStateException("No JWT signing keys available for " + algorithm
+            + "; configure JWT_SIGNING_KEYS or set jwt.signing.allow-ephemeral-key=true for local development");
+      }
+    }
+    this.keyRing = new KeyRing(publishable(keys), Instant.now().plusSeconds(reloadSeconds));
+    LOGGER.info("Loaded JWT key ring with {} published key(s)", keyRing.keys.size());
+  }
+
+  private KeyRing currentKeyRing() {
+    KeyRing current = this.keyRing;
+    if (isAsymmetric() && Instant.now().isAfter(current.reloadAt)) {
+      reloadIfIdle();
+      current = this.keyRing;
+    }
+    return current;
+  }
+
+  private List<JwtSigningKey> publishable(List<JwtSigningKey> keys) {
+    Instant now = Instant.now();
+    return keys.stream()
+        .filter(key -> key.getRetireAt() == null
+            || now.isBefore(key.getRetireAt().plusSeconds(jwtRefreshExpiration)))
+        .toList();
+  }
+
+  private List<JwtSigningKey> loadKeys() {
+    String json = secretsManager.getJwtSigningKeys();
+    if (json == null || json.isBlank()) {
+      return List.of();
+    }
+
+    List<JwtSigningKey> keys = new ArrayList<>();
+    try {
+      List<Map<String, String>> entries = OBJECT_MAPPER.readValue(json, new TypeReference<>() {
+      });
+      for (Map<String, String> entry : entries) {
+        JwtSigningAlgorithm keyAlgorithm = JwtSigningAlgorithm.fromValue(entry.getOrDefault("alg", algorithm.name()));
+        if (!keyAlgorithm.isAsymmetric()) {
+          throw new IllegalArgumentException("Key ring entries must use an asymmetric algorithm");
+        }
+        KeyFactory keyFactory = KeyFactory.getInstance(keyAlgorithm.getKeyAlgorithm());
+        keys.add(JwtSigningKey.builder()
+            .kid(entry.get("kid"))
+            .algorithm(keyAlgorithm)
+            .privateKey(entry.get("privateKey") == null ? null
+                : keyFactory.generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(entry.get("privateKey")))))
+            .publicKey(keyFactory.generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(entry.get("publicKey")))))
+            .activeFrom(entry.get("activeFrom") == null ? null : Instant.parse(entry.get("activeFrom")))
+            .retireAt(entry.get("retireAt") == null ? null : Instant.parse(entry.get("retireAt")))
+            .build());
+      }
+    } catch (Exception e) {
+      LOGGER.error("Failed to parse JWT signing keys: {}", e.getMessage());
+      return List.of();
+    }
+    return keys;
+  }
+
+  private JwtSigningKey generateEphemeralKey() {
+    try {
+      KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.getKeyAlgorithm());
+      if (algorithm.getCurve() != null) {
+        generator.initialize(new ECGenParameterSpec(algorithm.getCurve()));
+      }
+      KeyPair keyPair = generator.generateKeyPair();
+      return JwtSigningKey.builder()
+          .kid("ephemeral-" + UUID.randomUUID())
+          .algorithm(algorithm)
+          .privateKey(keyPair.getPrivate())
+          .publicKey(keyPair.getPublic())
+          .activeFrom(Instant.now())
+          .build();
+    } catch (Exception e) {
+      throw new IllegalStateException("Unable to generate a " + algorithm + " key pair", e);
+    }
+  }
+
+  /**
+   * Immutable snapshot of the published keys and the JWKS derived from them.
+   */
+  private static final class KeyRing {
+
+    private static final KeyRing EMPTY = new KeyRing(List.of(), Instant.EPOCH);
+
+    private final List<JwtSigningKey> keys;
+    private final Map<String, JwtSigningKey> keysById;
+    private final Map<String, Object> jwks;
+    private final String jwksETag;
+    private final Instant reloadAt;
+
+    private KeyRing(List<JwtSigningKey> keys, Instant reloadAt) {
+      this.keys = keys;
+      this.reloadAt = reloadAt;
+
+      Map<String, JwtSigningKey> byId = new LinkedHashMap<>();
+      List<Map<String, Object>> jwkList = new ArrayList<>();
+      for (JwtSigningKey key : keys) {
+        byId.put(key.getKid(), key);
+        jwkList.add(toJwk(key.getKid(), key.getAlgorithm(), key.getPublicKey()));
+      }
+      this.keysById = Collections.unmodifiableMap(byId);
+      this.jwks = Map.of("keys", Collections.unmodifiableList(jwkList));
+      this.jwksETag = "\"" + Integer.toHexString(jwkList.hashCode()) + "\"";
+    }
+
+    private static Map<String, Object> toJwk(String kid, JwtSigningAlgorithm algorithm, PublicKey publicKey) {
+      Map<String, Object> jwk = new LinkedHashMap<>(Jwks.builder()
+          .key(publicKey)
+          .id(kid)
+          .algorithm(algorithm.getJwaName())
+          .publicKeyUse("sig")
+          .build());
+      return Collections.unmodifiableMap(jwk);
+    }
+  }
+}
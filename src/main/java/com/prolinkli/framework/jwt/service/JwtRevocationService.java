@@ -0,0 +1,63 @@
+package com.prolinkli.framework.jwt.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Node-local revocation filter for stateless access tokens.
+ *
+ * Revoked token secrets are remembered until the access tokens that carry
+ * them would have expired anyway; after that the signature/expiry check
+ * rejects them on its own and the entry is dropped.
+ */
+@Service
+public class JwtRevocationService {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(JwtRevocationService.class);
+
+  @Value("${jwt.expiration:3600}")
+  private long jwtExpiration;
+
+  @Value("${jwt.revocation.purge-interval-seconds:60}")
+  private long purgeIntervalSeconds;
+
+  private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+
+  private volatile long nextPurgeAt = 0L;
+
+  /**
+   * Rejects access tokens carrying this secret on this node until they expire.
+   */
+  public void revoke(String tokenSecret) {
+    if (tokenSecret == null || tokenSecret.isEmpty()) {
+      return;
+    }
+    long now = System.currentTimeMillis();
+    revokedUntil.put(tokenSecret, now + jwtExpiration * 1000);
+    purgeExpired(now);
+  }
+
+  public boolean isRevoked(String tokenSecret) {
+    if (tokenSecret == null) {
+      return false;
+    }
+    Long until = revokedUntil.get(tokenSecret);
+    return until != null && until > System.currentTimeMillis();
+  }
+
+  private void purgeExpired(long now) {
+    if (now < nextPurgeAt) {
+      return;
+    }
+    nextPurgeAt = now + purgeIntervalSeconds * 1000;
+    int before = revokedUntil.size();
+    revokedUntil.values().removeIf(until -> until <= now);
+    LOGGER.debug("Purged {} expired token revocations", before - revokedUntil.size());
+  }
+
+}
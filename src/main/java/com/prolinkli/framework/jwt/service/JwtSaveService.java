@@ -3,22 +3,26 @@ package com.prolinkli.framework.jwt.service;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import com.prolinkli.core.app.components.user.model.AuthorizedUser;
+import com.prolinkli.core.app.db.mapper.custom.JwtTokenRotationMapper;
+import com.prolinkli.core.app.db.model.custom.JwtTokenRotationResultDb;
 import com.prolinkli.core.app.db.model.generated.JwtTokenDb;
 import com.prolinkli.core.app.db.model.generated.JwtTokenDbExample;
 import com.prolinkli.framework.db.dao.Dao;
 import com.prolinkli.framework.db.dao.DaoFactory;
 import com.prolinkli.framework.exception.exceptions.model.AuthenticationFailedException;
 import com.prolinkli.framework.jwt.model.AuthToken;
-import com.prolinkli.framework.jwt.model.AuthTokenType;
 import com.prolinkli.framework.jwt.model.TokenSecret;
+import com.prolinkli.framework.jwt.util.JwtUtil;
 
 import org.apache.ibatis.exceptions.PersistenceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,15 +39,36 @@ public class JwtSaveService {
   @Autowired
   private JwtCreateService jwtCreateService;
 
+  @Autowired
+  private JwtRevocationService jwtRevocationService;
+
+  @Value("${jwt.expiration:3600}")
+  private long jwtExpiration;
+
+  @Value("${jwt.refreshExpiration:7200}")
+  private long jwtRefreshExpiration;
+
+  @Value("${jwt.rotation.purge-interval-seconds:300}")
+  private long rotationPurgeIntervalSeconds;
+
+  private volatile long nextRotationPurgeAt = 0L;
+
   private final Dao<JwtTokenDb, String> dao;
 
+  private final JwtTokenRotationMapper jwtTokenRotationMapper;
+
   @Autowired
-  public JwtSaveService(DaoFactory daoFactory) {
+  public JwtSaveService(DaoFactory daoFactory, JwtTokenRotationMapper jwtTokenRotationMapper) {
     this.dao = daoFactory.getDao(JwtTokenDb.class, String.class);
+    this.jwtTokenRotationMapper = jwtTokenRotationMapper;
   }
 
   /**
-   * Regenerates the JWT token and saves it in the database.
+   * Rotates the refresh token: the presented secret is consumed and replaced
+   * by a new one in the same token family with a single statement.
+   *
+   * Presenting a secret that was already rotated is treated as token theft:
+   * every live token in its family is revoked and the refresh fails.
    */
   public AuthorizedUser regenerateTokens(AuthorizedUser authorizedUser, HttpServletResponse response) {
 
@@ -52,30 +77,42 @@ public class JwtSaveService {
     }
 
     AuthToken authToken = authorizedUser.getAuthToken();
+    if (authToken == null) {
+      throw new AuthenticationFailedException("Refresh token is missing");
+    }
 
-    // Verify the existing token
-    if (!jwtVerifyService.verifyToken(authToken.getRefreshToken(), AuthTokenType.REFRESH, response)) {
-      // TODO: Handle the case where the token is invalid
+    // Signature and expiry only; liveness is checked by the rotation itself
+    TokenSecret current = jwtVerifyService.extractVerifiedTokenSecret(authToken.getRefreshToken());
+    if (current == null || !Objects.equals(current.getUserId(), authorizedUser.getId())) {
       throw new AuthenticationFailedException("Refresh token is invalid or expired");
     }
 
-    // Get the secret token for the user
-    var secretToken = jwtVerifyService.extractTokenSecret(authToken.getAccessToken());
-    if (secretToken == null) {
-      throw new AuthenticationFailedException("Access token is invalid or expired");
+    String newSecret = jwtCreateService.generateTokenSecret();
+    AuthToken newTokens = jwtCreateService.createJwtTokensForUser(authorizedUser, Map.of(), newSecret);
+
+    JwtTokenRotationResultDb result = jwtTokenRotationMapper.rotateToken(
+        current.getUserId(),
+        current.getTokenSecret(),
+        newSecret,
+        JwtUtil.getExpirationDate(jwtExpiration),
+        JwtUtil.getExpirationDate(jwtRefreshExpiration));
+    purgeExpiredRotations();
+
+    // The old access token shares the consumed secret
+    jwtRevocationService.revoke(current.getTokenSecret());
+
+    if (result.getRevokedSecrets() != null && result.getRevokedSecrets().length > 0) {
+      LOGGER.warn("Refresh token reuse detected for user ID {}, revoked {} token(s) in its family",
+          current.getUserId(), result.getRevokedSecrets().length);
+      Arrays.stream(result.getRevokedSecrets()).forEach(jwtRevocationService::revoke);
+      throw new AuthenticationFailedException("Refresh token has already been used");
     }
 
-    disposeTokens(
-        TokenSecret
-            .builder()
-            .tokenSecret(secretToken)
-            .userId(authorizedUser.getId())
-            .build());
-
-    // Create a new token
-    AuthorizedUser newUser = jwtCreateService.createJwtTokenForUser(authorizedUser, Map.of());
+    if (result.getIssued() == null || result.getIssued() == 0) {
+      throw new AuthenticationFailedException("Refresh token is invalid or expired");
+    }
 
-    return newUser;
+    return new AuthorizedUser(authorizedUser, newTokens);
   }
 
   @Transactional(readOnly = false)
@@ -111,6 +148,24 @@ public class JwtSaveService {
 
   }
 
+  /**
+   * Removes rotated secrets that have outlived every refresh token that could
+   * carry them. Runs at most once per purge interval.
+   */
+  private void purgeExpiredRotations() {
+    long now = System.currentTimeMillis();
+    if (now < nextRotationPurgeAt) {
+      return;
+    }
+    nextRotationPurgeAt = now + rotationPurgeIntervalSeconds * 1000;
+    try {
+      int purged = jwtTokenRotationMapper.deleteExpiredRotations();
+      LOGGER.debug("Purged {} expired refresh token rotations", purged);
+    } catch (PersistenceException e) {
+      LOGGER.warn("Failed to purge expired refresh token rotations: {}", e.getMessage());
+    }
+  }
+
   /**
    * Disposes of the provided JWT tokens by removing them from the database.
    */
@@ -127,6 +182,10 @@ public class JwtSaveService {
 
     dao.delete(example);
 
+    // Stateless verification never reads jwt_tokens, so mirror the removal
+    // into the revocation filter.
+    Arrays.stream(tokens).map(TokenSecret::getTokenSecret).forEach(jwtRevocationService::revoke);
+
   }
 
 }
@@ -1,6 +1,5 @@
 package com.prolinkli.framework.jwt.service;
 
-import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -9,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
@@ -18,12 +18,13 @@ import io.jsonwebtoken.Jwts;
 import com.prolinkli.core.app.Constants.Jwt;
 import com.prolinkli.core.app.components.user.model.User;
 import com.prolinkli.core.app.components.user.service.UserGetService;
-import com.prolinkli.framework.config.secrets.SecretsManager;
 import com.prolinkli.framework.jwt.model.AuthToken;
 import com.prolinkli.framework.jwt.model.AuthTokenType;
 import com.prolinkli.framework.jwt.model.JWTTokenExpiredException;
+import com.prolinkli.framework.jwt.model.JwtVerificationMode;
 import com.prolinkli.framework.jwt.model.TokenSecret;
 import com.prolinkli.framework.jwt.util.JwtUtil;
+import com.prolinkli.framework.permission.util.AuthorityClaimsUtil;
 
 import jakarta.servlet.http.HttpServletResponse;
 
@@ -32,7 +33,7 @@ public class JwtVerifyService {
 
   final private static Logger LOGGER = LoggerFactory.getLogger(JwtVerifyService.class);
 
-  private final SecretsManager secretsManager;
+  private final JwtKeyRingService jwtKeyRingService;
 
   @Autowired
   private JwtGetService jwtGetService;
@@ -41,8 +42,14 @@ public class JwtVerifyService {
   private UserGetService userGetService;
 
   @Autowired
-  public JwtVerifyService(SecretsManager secretsManager) {
-    this.secretsManager = secretsManager;
+  private JwtRevocationService jwtRevocationService;
+
+  @Value("${jwt.verification.mode:STATEFUL}")
+  private JwtVerificationMode verificationMode;
+
+  @Autowired
+  public JwtVerifyService(JwtKeyRingService jwtKeyRingService) {
+    this.jwtKeyRingService = jwtKeyRingService;
   }
 
   public boolean verifyToken(String token, HttpServletResponse response) {
@@ -50,33 +57,49 @@ public class JwtVerifyService {
   }
 
   public boolean verifyToken(String token, AuthTokenType type, HttpServletResponse response) {
+    return verifyTokenClaims(token, type, response) != null;
+  }
+
+  /**
+   * Same checks as {@link #verifyToken}, but returns the verified claims so
+   * the caller can read them without parsing and verifying the token again.
+   * The token is parsed once for all of the checks.
+   *
+   * @return the token's claims, or null if the token is not valid
+   */
+  public Claims verifyTokenClaims(String token, AuthTokenType type, HttpServletResponse response) {
     try {
       // Implement your JWT verification logic here
       if (token == null || token.isEmpty()) {
         LOGGER.debug("JWT token is null or empty");
-        return false;
+        return null;
       }
       LOGGER.debug("Verifying JWT token: {}", token);
 
       // Basic validation - token should have some structure
       if (!token.contains(".")) {
-        return false; // Not a proper JWT structure
+        return null; // Not a proper JWT structure
       }
 
-      if (!isJwtTokenValid(token)) {
+      Claims claims = getValidClaims(token);
+      if (claims == null) {
         LOGGER.debug("JWT token is invalid or expired: {}", token);
-        return false;
+        return null;
+      }
+
+      // Stateless access tokens are trusted on signature and expiry; the
+      // database is only consulted when a refresh token is presented.
+      if (type == AuthTokenType.ACCESS && verificationMode == JwtVerificationMode.STATELESS) {
+        return isJwtTokenNotRevoked(claims) ? claims : null;
       }
 
-      // Placeholder: assume token is valid if it's not empty and has JWT structure
-      // In real implementation, you'd parse and verify the JWT
-      return isJwtTokenActive(token, type);
+      return isJwtTokenActive(claims, type) ? claims : null;
 
     } catch (Exception e) {
       // Log the exception in a real implementation
       LOGGER.error("Error verifying JWT token: {}", e);
 
-      return false;
+      return null;
     }
   }
 
@@ -88,30 +111,56 @@ public class JwtVerifyService {
 
     return List.of(authToken.getAccessToken(), authToken.getRefreshToken()).stream()
         .filter(Objects::nonNull) // Ensure null tokens are excluded
+        .map(this::getValidClaims) // Parsed once per token
         .map(
-            o -> TokenSecret.builder()
-                .tokenSecret(extractTokenSecret(o))
-                .userId(extractUserId(o))
+            claims -> TokenSecret.builder()
+                .tokenSecret(claims == null ? null : extractTokenSecret(claims))
+                .userId(claims == null ? null : extractUserId(claims))
                 .build())
         .toList();
   }
 
   /**
-   * Extract token secret from JWT token
+   * Verifies signature and expiry only and returns the user ID and token
+   * secret carried by the token, or null if either is missing. Whether the
+   * secret is still live is left to the caller (refresh rotation checks it in
+   * the same statement that consumes it).
+   *
+   * @throws JWTTokenExpiredException if the token has expired
    */
-  public String extractTokenSecret(String token) {
-    if (token == null || token.isEmpty() || !isJwtTokenValid(token)) {
+  public TokenSecret extractVerifiedTokenSecret(String token) {
+    Claims claims = getValidClaims(token);
+    if (claims == null) {
       LOGGER.debug("JWT token is null or empty or invalid");
       return null;
     }
 
-    Jws<Claims> claims = getClaims(token);
-    if (claims == null || claims.getPayload() == null) {
-      LOGGER.debug("JWT token claims are null or empty");
+    Long userId = extractUserId(claims);
+    String tokenSecret = extractTokenSecret(claims);
+    if (userId == null || tokenSecret == null || tokenSecret.isEmpty()) {
       return null;
     }
-    Claims body = claims.getPayload();
 
+    return TokenSecret.builder().userId(userId).tokenSecret(tokenSecret).build();
+  }
+
+  /**
+   * Extract token secret from JWT token
+   */
+  public String extractTokenSecret(String token) {
+    Claims claims = getValidClaims(token);
+    if (claims == null) {
+      LOGGER.debug("JWT token is null or empty or invalid");
+      return null;
+    }
+
+    return extractTokenSecret(claims);
+  }
+
+  /**
+   * Extract token secret from already verified claims
+   */
+  public String extractTokenSecret(Claims body) {
     Object secret = body.get(Jwt.SECRET_CLAIMS_KEY);
     if (secret == null) {
       LOGGER.debug("JWT token does not contain a valid secret");
@@ -132,19 +181,19 @@ public class JwtVerifyService {
    */
   public Long extractUserId(String token) {
 
-    if (token == null || token.isEmpty() || !isJwtTokenValid(token)) {
+    Claims claims = getValidClaims(token);
+    if (claims == null) {
       LOGGER.debug("JWT token is null or empty");
       return null;
     }
 
-    Jws<Claims> claims = getClaims(token);
-
-    if (claims == null || claims.getPayload() == null) {
-      LOGGER.debug("JWT token claims are null or empty");
-      return null;
-    }
-    Claims body = claims.getPayload();
+    return extractUserId(claims);
+  }
 
+  /**
+   * Extract user ID from already verified claims
+   */
+  public Long extractUserId(Claims body) {
     Object userId = body.get(Jwt.USER_ID_CLAIMS_KEY);
     if (userId == null) {
       LOGGER.debug("JWT token does not contain a valid user ID");
@@ -161,35 +210,25 @@ public class JwtVerifyService {
   }
 
   /**
-   * //TODO: this is involving user roles/permissions
-   * 
-   * Extract user roles/authorities from JWT token
-   * This is a placeholder method that you should implement based on your JWT
-   * structure
+   * Builds the user's authorities from the roles and permissions embedded in
+   * the token at issue time. No database access is needed.
    */
-  public List<String> extractAuthorities(String token) {
-    // TODO: Implement JWT parsing to extract roles/authorities from claims
-    // This is a placeholder implementation
-    return Arrays.asList("USER");
+  public List<GrantedAuthority> extractAuthorities(Claims claims) {
+    return AuthorityClaimsUtil.toGrantedAuthorities(claims);
   }
 
   /**
    * Extract user information from JWT token
    * This method verifies that the user is authenticated, and is in the database.
    */
-  private boolean isJwtTokenActive(String token, AuthTokenType type) {
-    if (token == null || token.isEmpty() || !isJwtTokenValid(token)) {
-      LOGGER.debug("JWT token is null or empty or invalid");
-      return false;
-    }
-
-    Long userId = extractUserId(token);
+  private boolean isJwtTokenActive(Claims claims, AuthTokenType type) {
+    Long userId = extractUserId(claims);
     if (userId == null || userId <= 0) {
       LOGGER.debug("JWT token does not contain a valid user ID");
       return false;
     }
 
-    String tokenSecret = extractTokenSecret(token);
+    String tokenSecret = extractTokenSecret(claims);
     if (tokenSecret == null || tokenSecret.isEmpty()) {
       LOGGER.debug("JWT token does not contain a valid token secret");
       return false; // No token secret found in the JWT
@@ -220,54 +259,79 @@ public class JwtVerifyService {
   }
 
   /**
-   * Check if the JWT token is valid
-   * This method can be used to validate the JWT token without extracting user
-   * information.
+   * Stateless check for access tokens: the token must carry a user ID and a
+   * secret that has not been revoked on this node.
+   */
+  private boolean isJwtTokenNotRevoked(Claims claims) {
+    Long userId = extractUserId(claims);
+    if (userId == null || userId <= 0) {
+      LOGGER.debug("JWT token does not contain a valid user ID");
+      return false;
+    }
+
+    String tokenSecret = extractTokenSecret(claims);
+    if (tokenSecret == null || tokenSecret.isEmpty()) {
+      LOGGER.debug("JWT token does not contain a valid token secret");
+      return false;
+    }
+
+    if (jwtRevocationService.isRevoked(tokenSecret)) {
+      LOGGER.debug("JWT token has been revoked for user ID: {}", userId);
+      return false;
+    }
+
+    return true;
+  }
+
+  /**
+   * Check if the JWT token is valid and return its claims
+   * This parses and signature-checks the token once; callers read every claim
+   * they need from the result instead of parsing the token again.
    *
    * This is just a check to make sure the JWT token is well-formed and not empty.
    * (and not expired)
    *
    * @param token The JWT token to validate
-   * @return true if the token is valid, false otherwise
+   * @return the token's claims if the token is valid, null otherwise
    */
-  private boolean isJwtTokenValid(String token) {
+  private Claims getValidClaims(String token) {
     // Check if the JWT token is valid
     if (token == null || token.isEmpty()) {
-      return false;
+      return null;
     }
     try {
       Jws<Claims> claims = getClaims(token);
 
       if (claims == null) {
-        return false; // Token parsing failed
+        return null; // Token parsing failed
       }
       if (claims.getPayload() == null) {
-        return false; // No claims found in the token
+        return null; // No claims found in the token
       }
 
       Claims body = claims.getPayload();
       if (body.getExpiration() == null) {
-        return false; // No expiration date found in the token
+        return null; // No expiration date found in the token
       }
       if (JwtUtil.didExpire(body.getExpiration())) {
         throw new JWTTokenExpiredException();
       }
 
-      return true;
+      return body;
 
     } catch (Exception e) {
       if (e instanceof JWTTokenExpiredException) {
         throw e;
       }
       LOGGER.error("Error verifying JWT token: {}", e.getMessage());
-      return false;
+      return null;
     }
   }
 
   private Jws<Claims> getClaims(String token) {
     try {
       return Jwts.parser()
-          .verifyWith(JwtUtil.getSecretKey(secretsManager.getJwtSecret()))
+          .keyLocator(jwtKeyRingService.getKeyLocator())
           .build()
           .parseSignedClaims(token);
 
@@ -0,0 +1,84 @@
+package com.prolinkli.framework.permission.evaluator;
+
+import java.io.Serializable;
+
+import com.prolinkli.framework.permission.model.PermissionMatrix;
+import com.prolinkli.framework.permission.model.UserAuthorities;
+import com.prolinkli.framework.permission.service.PermissionFilterService;
+import com.prolinkli.framework.permission.service.PermissionMatrixService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code hasPermission(...)} for {@code @PreAuthorize}, answered from the
+ * compiled {@link PermissionMatrix} using the roles in the caller's token.
+ *
+ * The permission is {@code PERMISSION} or {@code PERMISSION:LEVEL} and the
+ * target is a permissions_targets_lk value:
+ *
+ * <pre>
+ * &#64;PreAuthorize("hasPermission('ALL', 'QUOTE:EDIT')")
+ * &#64;PreAuthorize("hasPermission(null, 'ADMIN')")
+ * &#64;PreAuthorize("hasPermission(#id, 'TEAM', 'USER:READ')")
+ * </pre>
+ *
+ * Targets are classes of resources, not instances: the ID in the three
+ * argument form is ignored, and ownership still has to be checked by the
+ * service. Roles are the caller's current user_roles (see
+ * {@link PermissionFilterService#getRoles}), not the ones in the token, and
+ * are mapped to permissions here. Changes to user_roles and role_permissions
+ * therefore apply to existing sessions as soon as the database notification
+ * arrives, without reissuing tokens.
+ */
+@Component
+public class MatrixPermissionEvaluator implements PermissionEvaluator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MatrixPermissionEvaluator.class);
+
+  @Autowired
+  private PermissionMatrixService permissionMatrixService;
+
+  @Autowired
+  private PermissionFilterService permissionFilterService;
+
+  @Override
+  public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+    return check(authentication, targetDomainObject == null ? null : targetDomainObject.toString(), permission);
+  }
+
+  @Override
+  public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+      Object permission) {
+    return check(authentication, targetType, permission);
+  }
+
+  private boolean check(Authentication authentication, String target, Object permission) {
+    if (authentication == null || !authentication.isAuthenticated()
+        || authentication instanceof AnonymousAuthenticationToken || permission == null) {
+      return false;
+    }
+
+    PermissionMatrix matrix = permissionMatrixService.getMatrix();
+
+    String permissionLk = permission.toString();
+    int level = 0;
+    int separator = permissionLk.indexOf(UserAuthorities.KEY_SEPARATOR);
+    if (separator >= 0) {
+      level = matrix.getLevelValue(permissionLk.substring(separator + 1));
+      permissionLk = permissionLk.substring(0, separator);
+      if (level < 0) {
+        LOGGER.debug("Unknown permission level in '{}'", permission);
+        return false;
+      }
+    }
+
+    return matrix.hasPermission(permissionFilterService.getRoles(authentication), permissionLk, target, level);
+  }
+
+}
@@ -0,0 +1,104 @@
+package com.prolinkli.framework.permission.listener;
+
+import java.util.Objects;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prolinkli.core.app.components.user.service.UserGetService;
+import com.prolinkli.framework.db.event.DbNotificationEvent;
+import com.prolinkli.framework.permission.service.PermissionFilterService;
+import com.prolinkli.framework.permission.service.PermissionMatrixService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies role and permission changes pushed by the database triggers on the
+ * {@value #CHANNEL} channel (see 20261019.02-AddPermissionChangeNotifications).
+ *
+ * - roles / role_permissions: only the affected role's matrix row is reloaded
+ * - user_roles: only the affected user's cached roles are re-read, and the
+ *   cached user is dropped; hasPermission reads those roles, so the change
+ *   applies to the user's live sessions
+ * - anything else, or a resync after the listener reconnected: full reload
+ */
+@Component
+public class PermissionChangeNotificationListener implements ApplicationListener<DbNotificationEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PermissionChangeNotificationListener.class);
+
+  public static final String CHANNEL = "permission_changes";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Autowired
+  private PermissionMatrixService permissionMatrixService;
+
+  @Autowired
+  private PermissionFilterService permissionFilterService;
+
+  @Autowired
+  private UserGetService userGetService;
+
+  @Override
+  public void onApplicationEvent(DbNotificationEvent event) {
+    if (!CHANNEL.equals(event.getChannel())) {
+      return;
+    }
+
+    if (event.isResync()) {
+      permissionMatrixService.reload();
+      permissionFilterService.evictAllUserRoles();
+      return;
+    }
+
+    JsonNode payload;
+    try {
+      payload = OBJECT_MAPPER.readTree(event.getPayload());
+    } catch (JsonProcessingException e) {
+      LOGGER.warn("Unreadable permission change payload, reloading everything: {}", event.getPayload());
+      permissionMatrixService.reload();
+      permissionFilterService.evictAllUserRoles();
+      return;
+    }
+
+    String table = text(payload, "table");
+    LOGGER.debug("Permission change: {} {}", payload.path("op").asText(), payload);
+    switch (table == null ? "" : table) {
+      case "roles", "role_permissions" -> {
+        String roleId = text(payload, "role_id");
+        String oldRoleId = text(payload, "old_role_id");
+        permissionMatrixService.reloadRole(roleId);
+        if (oldRoleId != null && !Objects.equals(oldRoleId, roleId)) {
+          permissionMatrixService.reloadRole(oldRoleId);
+        }
+      }
+      case "user_roles" -> {
+        Long userId = number(payload, "user_id");
+        Long oldUserId = number(payload, "old_user_id");
+        permissionFilterService.refreshUserRoles(userId);
+        userGetService.evictUser(userId);
+        if (oldUserId != null && !Objects.equals(oldUserId, userId)) {
+          permissionFilterService.refreshUserRoles(oldUserId);
+          userGetService.evictUser(oldUserId);
+        }
+      }
+      default -> permissionMatrixService.reload();
+    }
+  }
+
+  private static String text(JsonNode payload, String field) {
+    JsonNode node = payload.get(field);
+    return node == null || node.isNull() ? null : node.asText();
+  }
+
+  private static Long number(JsonNode payload, String field) {
+    JsonNode node = payload.get(field);
+    return node == null || node.isNull() ? null : node.asLong();
+  }
+
+}
@@ -0,0 +1,34 @@
+package com.prolinkli.framework.permission.model;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import lombok.Data;
+
+/**
+ * A permission carried by the authenticated principal, built from the JWT
+ * permissions claim. The authority string is {@code PERMISSION[:TARGET]:MASK}.
+ */
+@Data
+public class PermissionAuthority implements GrantedAuthority {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String permission;
+
+  private final String target;
+
+  private final int levelMask;
+
+  /**
+   * True when this grant covers every bit of the requested level mask.
+   */
+  public boolean allows(int requiredLevel) {
+    return (levelMask & requiredLevel) == requiredLevel;
+  }
+
+  @Override
+  public String getAuthority() {
+    return UserAuthorities.permissionKey(permission, target) + UserAuthorities.KEY_SEPARATOR + levelMask;
+  }
+
+}
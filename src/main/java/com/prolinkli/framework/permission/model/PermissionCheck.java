@@ -0,0 +1,19 @@
+package com.prolinkli.framework.permission.model;
+
+import lombok.Data;
+
+/**
+ * One (permission, target, level) question for a bulk permission check.
+ * Target is null for permissions without targets; level 0 only requires a
+ * grant.
+ */
+@Data
+public class PermissionCheck {
+
+  private final String permission;
+
+  private final String target;
+
+  private final int level;
+
+}
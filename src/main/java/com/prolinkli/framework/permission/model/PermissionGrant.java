@@ -0,0 +1,20 @@
+package com.prolinkli.framework.permission.model;
+
+import lombok.Data;
+
+/**
+ * One role_permissions grant with its level resolved to the bitwise value.
+ * Target and level are null for permissions that do not use them.
+ */
+@Data
+public class PermissionGrant {
+
+  private final String roleId;
+
+  private final String permission;
+
+  private final String target;
+
+  private final Integer levelValue;
+
+}
@@ -0,0 +1,290 @@
+package com.prolinkli.framework.permission.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, compiled form of role_permissions: for every role, permission and
+ * target, the bitwise OR of the granted levels (see permissions_levels_lk).
+ *
+ * Names are resolved to indexes once; a check is then a few hash lookups and
+ * one array read per role. Target slot 0 holds grants without a target. A
+ * grant on the {@link #ALL_TARGET} target covers every target of that
+ * permission. A grant at the NONE level is stored as no grant at all.
+ */
+public final class PermissionMatrix {
+
+  public static final String ALL_TARGET = "ALL";
+
+  public static final PermissionMatrix EMPTY = builder().build();
+
+  // Set on every cell that has a grant, so a grant of a level-less permission
+  // (mask 0) is not mistaken for no grant
+  private static final int GRANTED = 1 << 31;
+
+  // Value of the NONE level ("No Access"); a grant at this level grants nothing
+  private static final int NONE_LEVEL = 0;
+
+  private static final int NO_TARGET = 0;
+
+  // Stands in for a null level, i.e. a permission that does not use levels
+  private static final int LEVEL_LESS = Integer.MIN_VALUE;
+
+  private final Map<String, Integer> roleIndexes;
+  private final Map<String, Integer> permissionIndexes;
+  private final Map<String, Integer> targetIndexes;
+  private final Map<String, Integer> levelValues;
+
+  private final int permissionCount;
+  private final int targetSlots;
+  private final int allTargetSlot;
+
+  // [role][permission][target] flattened
+  private final int[] cells;
+
+  private PermissionMatrix(Builder builder) {
+    this.roleIndexes = Map.copyOf(builder.roleIndexes);
+    this.permissionIndexes = Map.copyOf(builder.permissionIndexes);
+    this.targetIndexes = Map.copyOf(builder.targetIndexes);
+    this.levelValues = Map.copyOf(builder.levelValues);
+    this.permissionCount = permissionIndexes.size();
+    this.targetSlots = targetIndexes.size() + 1;
+    this.allTargetSlot = targetIndexes.getOrDefault(ALL_TARGET, -1);
+
+    this.cells = new int[roleIndexes.size() * permissionCount * targetSlots];
+    for (int[] grant : builder.grants) {
+      cells[cell(grant[0], grant[1], grant[2])] |= cellValue(grant[3]);
+    }
+  }
+
+  private PermissionMatrix(PermissionMatrix base, Map<String, Integer> roleIndexes, int[] cells) {
+    this.roleIndexes = Map.copyOf(roleIndexes);
+    this.permissionIndexes = base.permissionIndexes;
+    this.targetIndexes = base.targetIndexes;
+    this.levelValues = base.levelValues;
+    this.permissionCount = base.permissionCount;
+    this.targetSlots = base.targetSlots;
+    this.allTargetSlot = base.allTargetSlot;
+    this.cells = cells;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * True if any of the roles grants the permission on the target with every
+   * bit of {@code level}. Unknown roles are ignored and an unknown permission
+   * is never granted; a target nobody is granted on explicitly is only covered
+   * by {@link #ALL_TARGET}. Pass level 0 to only require a grant.
+   */
+  public boolean hasPermission(Collection<String> roles, String permission, String target, int level) {
+    return allows(getLevelMask(roles, permission, target), level);
+  }
+
+  /**
+   * Level bits granted to the roles on the permission and target, including
+   * grants on {@link #ALL_TARGET}. 0 if nothing is granted.
+   */
+  public int getLevelMask(Collection<String> roles, String permission, String target) {
+    Integer permissionIndex = permission == null ? null : permissionIndexes.get(permission);
+    if (permissionIndex == null || roles == null) {
+      return 0;
+    }
+
+    int targetSlot = NO_TARGET;
+    if (target != null) {
+      Integer targetIndex = targetIndexes.get(target);
+      targetSlot = targetIndex == null ? -1 : targetIndex;
+    }
+    if (targetSlot < 0 && allTargetSlot < 0) {
+      return 0;
+    }
+
+    int mask = 0;
+    for (String role : roles) {
+      Integer roleIndex = roleIndexes.get(role);
+      if (roleIndex == null) {
+        continue;
+      }
+      if (targetSlot >= 0) {
+        mask |= cells[cell(roleIndex, permissionIndex, targetSlot)];
+      }
+      if (target != null && allTargetSlot >= 0) {
+        mask |= cells[cell(roleIndex, permissionIndex, allTargetSlot)];
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * A copy of this matrix with one role's grants replaced. Only that role's
+   * row is rewritten; a role with no grants keeps an empty row.
+   *
+   * @return the new matrix, or null if a grant names a permission or target
+   *         this matrix has no slot for and a full rebuild is needed
+   */
+  public PermissionMatrix withRole(String roleId, Collection<PermissionGrant> grants) {
+    for (PermissionGrant grant : grants) {
+      if (!permissionIndexes.containsKey(grant.getPermission())
+          || (grant.getTarget() != null && !targetIndexes.containsKey(grant.getTarget()))) {
+        return null;
+      }
+    }
+
+    int rowLength = permissionCount * targetSlots;
+    Map<String, Integer> newRoleIndexes = roleIndexes;
+    Integer roleIndex = roleIndexes.get(roleId);
+    if (roleIndex == null) {
+      if (grants.isEmpty()) {
+        return this;
+      }
+      roleIndex = roleIndexes.size();
+      newRoleIndexes = new HashMap<>(roleIndexes);
+      newRoleIndexes.put(roleId, roleIndex);
+    }
+
+    int[] newCells = Arrays.copyOf(cells, newRoleIndexes.size() * rowLength);
+    Arrays.fill(newCells, roleIndex * rowLength, (roleIndex + 1) * rowLength, 0);
+    for (PermissionGrant grant : grants) {
+      int targetSlot = grant.getTarget() == null ? NO_TARGET : targetIndexes.get(grant.getTarget());
+      newCells[cell(roleIndex, permissionIndexes.get(grant.getPermission()), targetSlot)] |=
+          cellValue(grant.getLevelValue() == null ? LEVEL_LESS : grant.getLevelValue());
+    }
+    return new PermissionMatrix(this, newRoleIndexes, newCells);
+  }
+
+  /**
+   * Folds the rows of the given roles into one row so that many checks for
+   * the same caller cost one array read each. Unknown roles are ignored.
+   */
+  public RoleMask forRoles(Collection<String> roles) {
+    int rowLength = permissionCount * targetSlots;
+    int[] combined = new int[rowLength];
+    if (roles != null) {
+      for (String role : roles) {
+        Integer roleIndex = roleIndexes.get(role);
+        if (roleIndex == null) {
+          continue;
+        }
+        // Plain loop over contiguous ints; the JIT vectorizes it
+        int base = roleIndex * rowLength;
+        for (int i = 0; i < rowLength; i++) {
+          combined[i] |= cells[base + i];
+        }
+      }
+    }
+    return new RoleMask(combined);
+  }
+
+  /**
+   * Bitwise value of a level name, or -1 if the level does not exist.
+   */
+  public int getLevelValue(String levelLk) {
+    return levelValues.getOrDefault(levelLk, -1);
+  }
+
+  public int getRoleCount() {
+    return roleIndexes.size();
+  }
+
+  public int getGrantCount() {
+    int count = 0;
+    for (int cell : cells) {
+      if ((cell & GRANTED) != 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static boolean allows(int mask, int level) {
+    return (mask & GRANTED) != 0 && (mask & level) == level;
+  }
+
+  /**
+   * Cell bits for one grant. A level-less grant sets only GRANTED; a grant at
+   * NONE (or a negative level) sets nothing, so "No Access" is never a grant.
+   */
+  private static int cellValue(int level) {
+    if (level == LEVEL_LESS) {
+      return GRANTED;
+    }
+    return level > NONE_LEVEL ? GRANTED | level : 0;
+  }
+
+  private int cell(int roleIndex, int permissionIndex, int targetSlot) {
+    return (roleIndex * permissionCount + permissionIndex) * targetSlots + targetSlot;
+  }
+
+  /**
+   * The combined grants of a set of roles; see {@link #forRoles}. Follows the
+   * same rules as {@link PermissionMatrix#hasPermission}.
+   */
+  public final class RoleMask {
+
+    private final int[] row;
+
+    private RoleMask(int[] row) {
+      this.row = row;
+    }
+
+    public boolean allows(String permission, String target, int level) {
+      return PermissionMatrix.allows(getLevelMask(permission, target), level);
+    }
+
+    public int getLevelMask(String permission, String target) {
+      Integer permissionIndex = permission == null ? null : permissionIndexes.get(permission);
+      if (permissionIndex == null) {
+        return 0;
+      }
+      int base = permissionIndex * targetSlots;
+      if (target == null) {
+        return row[base + NO_TARGET];
+      }
+
+      Integer targetIndex = targetIndexes.get(target);
+      int mask = targetIndex == null ? 0 : row[base + targetIndex];
+      if (allTargetSlot >= 0) {
+        mask |= row[base + allTargetSlot];
+      }
+      return mask;
+    }
+  }
+
+  public static final class Builder {
+
+    private final Map<String, Integer> roleIndexes = new HashMap<>();
+    private final Map<String, Integer> permissionIndexes = new HashMap<>();
+    // Slot 0 is reserved for grants without a target
+    private final Map<String, Integer> targetIndexes = new HashMap<>();
+    private final Map<String, Integer> levelValues = new HashMap<>();
+    private final List<int[]> grants = new ArrayList<>();
+
+    private Builder() {
+    }
+
+    public Builder level(String levelLk, int levelValue) {
+      levelValues.put(levelLk, levelValue);
+      return this;
+    }
+
+    public Builder grant(String roleId, String permission, String target, Integer levelValue) {
+      int roleIndex = roleIndexes.computeIfAbsent(roleId, key -> roleIndexes.size());
+      int permissionIndex = permissionIndexes.computeIfAbsent(permission, key -> permissionIndexes.size());
+      int targetSlot = target == null ? NO_TARGET
+          : targetIndexes.computeIfAbsent(target, key -> targetIndexes.size() + 1);
+      grants.add(new int[] { roleIndex, permissionIndex, targetSlot, levelValue == null ? LEVEL_LESS : levelValue });
+      return this;
+    }
+
+    public PermissionMatrix build() {
+      return new PermissionMatrix(this);
+    }
+  }
+
+}
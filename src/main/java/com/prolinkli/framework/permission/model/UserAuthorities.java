@@ -0,0 +1,44 @@
+package com.prolinkli.framework.permission.model;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.Data;
+
+/**
+ * The roles and effective permissions of a user, in the compact form that is
+ * embedded in JWT claims.
+ *
+ * Permissions are keyed by {@code PERMISSION} or {@code PERMISSION:TARGET} and
+ * map to the bitwise OR of every level granted through the user's roles (see
+ * permissions_levels_lk). Permissions without levels are stored with mask 0;
+ * their presence is the grant.
+ */
+@Data
+public class UserAuthorities {
+
+  public static final String KEY_SEPARATOR = ":";
+
+  private Set<String> roles = new LinkedHashSet<>();
+
+  private Map<String, Integer> permissions = new LinkedHashMap<>();
+
+  public void addRole(String roleId) {
+    roles.add(roleId);
+  }
+
+  public void grant(String permission, String target, Integer levelValue) {
+    // NONE ("No Access") is not a grant; only level-less permissions use 0
+    if (levelValue != null && levelValue <= 0) {
+      return;
+    }
+    permissions.merge(permissionKey(permission, target), levelValue == null ? 0 : levelValue, (a, b) -> a | b);
+  }
+
+  public static String permissionKey(String permission, String target) {
+    return target == null ? permission : permission + KEY_SEPARATOR + target;
+  }
+
+}
@@ -0,0 +1,159 @@
+package com.prolinkli.framework.permission.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prolinkli.core.app.db.mapper.custom.UserAuthorityMapper;
+import com.prolinkli.framework.permission.model.PermissionCheck;
+import com.prolinkli.framework.permission.model.PermissionMatrix;
+import com.prolinkli.framework.permission.util.AuthorityClaimsUtil;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+
+/**
+ * Filters a collection down to the items a user may access, in one call.
+ *
+ * The user's roles are folded into a single row of the compiled
+ * {@link PermissionMatrix} once per call. After that each item costs one or
+ * two array reads, whatever the number of roles or items. Listing endpoints
+ * should use this instead of checking items one at a time.
+ *
+ * Roles come from user_roles, cached per user for
+ * {@code permissions.user-roles-cache.ttl-seconds} and refreshed as soon as the
+ * database reports a user_roles change (see PermissionChangeNotificationListener).
+ * Every user also has {@link AuthorityClaimsUtil#DEFAULT_ROLE}. The roles in a
+ * token are only used for principals without a user ID.
+ */
+@Service
+public class PermissionFilterService {
+
+  private final PermissionMatrixService permissionMatrixService;
+
+  private final UserAuthorityMapper userAuthorityMapper;
+
+  private final Cache<Long, List<String>> userRolesCache;
+
+  @Autowired
+  public PermissionFilterService(PermissionMatrixService permissionMatrixService,
+      UserAuthorityMapper userAuthorityMapper,
+      @Value("${permissions.user-roles-cache.ttl-seconds:60}") long cacheTtlSeconds,
+      @Value("${permissions.user-roles-cache.max-size:10000}") long cacheMaxSize) {
+    this.permissionMatrixService = permissionMatrixService;
+    this.userAuthorityMapper = userAuthorityMapper;
+    this.userRolesCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+        .maximumSize(cacheMaxSize)
+        .build();
+  }
+
+  /**
+   * @return the checks the user passes, in their original order
+   */
+  public List<PermissionCheck> filterAllowed(Long userId, Collection<PermissionCheck> checks) {
+    return filterAllowed(userId, checks, Function.identity());
+  }
+
+  /**
+   * @param toCheck maps an item to the permission it needs
+   * @return the items the user may access, in their original order
+   */
+  public <T> List<T> filterAllowed(Long userId, Collection<T> items, Function<T, PermissionCheck> toCheck) {
+    return filter(getUserRoles(userId), items, toCheck);
+  }
+
+  /**
+   * Same as {@link #filterAllowed(Long, Collection, Function)} for the
+   * authenticated principal.
+   */
+  public <T> List<T> filterAllowed(Authentication authentication, Collection<T> items,
+      Function<T, PermissionCheck> toCheck) {
+    if (authentication == null || !authentication.isAuthenticated()) {
+      return new ArrayList<>();
+    }
+    return filter(getRoles(authentication), items, toCheck);
+  }
+
+  /**
+   * The current roles of an authenticated principal. For a user ID principal
+   * these are the cached user_roles, so grants and revocations apply without
+   * waiting for a new token; otherwise the roles in the token are used.
+   */
+  public List<String> getRoles(Authentication authentication) {
+    if (authentication.getPrincipal() instanceof Long userId) {
+      return getUserRoles(userId);
+    }
+    return AuthorityClaimsUtil.toRoleIds(authentication.getAuthorities());
+  }
+
+  /**
+   * The user's active roles plus the default role, as in their token.
+   */
+  public List<String> getUserRoles(Long userId) {
+    if (userId == null) {
+      throw new IllegalArgumentException("User ID cannot be null");
+    }
+    return userRolesCache.get(userId, this::loadUserRoles);
+  }
+
+  /**
+   * Re-reads a user's roles if they are cached; users not in the cache are
+   * loaded on their next check anyway.
+   */
+  public void refreshUserRoles(Long userId) {
+    if (userId != null && userRolesCache.getIfPresent(userId) != null) {
+      userRolesCache.put(userId, loadUserRoles(userId));
+    }
+  }
+
+  /**
+   * Drops every cached user's roles.
+   */
+  public void evictAllUserRoles() {
+    userRolesCache.invalidateAll();
+  }
+
+  /**
+   * Drops a user's cached roles. Call after changing their user_roles rows.
+   */
+  public void evictUserRoles(Long userId) {
+    if (userId != null) {
+      userRolesCache.invalidate(userId);
+    }
+  }
+
+  private List<String> loadUserRoles(Long userId) {
+    List<String> roles = new ArrayList<>();
+    roles.add(AuthorityClaimsUtil.DEFAULT_ROLE);
+    for (String roleId : userAuthorityMapper.selectActiveRoleIds(userId)) {
+      if (!AuthorityClaimsUtil.DEFAULT_ROLE.equals(roleId)) {
+        roles.add(roleId);
+      }
+    }
+    return List.copyOf(roles);
+  }
+
+  private <T> List<T> filter(Collection<String> roles, Collection<T> items, Function<T, PermissionCheck> toCheck) {
+    List<T> allowed = new ArrayList<>(items == null ? 0 : items.size());
+    if (items == null || items.isEmpty() || roles.isEmpty()) {
+      return allowed;
+    }
+
+    PermissionMatrix.RoleMask mask = permissionMatrixService.getMatrix().forRoles(roles);
+    for (T item : items) {
+      PermissionCheck check = toCheck.apply(item);
+      if (check != null && mask.allows(check.getPermission(), check.getTarget(), check.getLevel())) {
+        allowed.add(item);
+      }
+    }
+    return allowed;
+  }
+
+}
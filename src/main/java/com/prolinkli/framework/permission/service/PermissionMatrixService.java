@@ -0,0 +1,167 @@
+package com.prolinkli.framework.permission.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.prolinkli.core.app.db.mapper.custom.PermissionMatrixMapper;
+import com.prolinkli.core.app.db.model.custom.PermissionLevelDb;
+import com.prolinkli.core.app.db.model.custom.RolePermissionGrantDb;
+import com.prolinkli.framework.db.notify.PostgresNotificationListener;
+import com.prolinkli.framework.permission.listener.PermissionChangeNotificationListener;
+import com.prolinkli.framework.permission.model.PermissionGrant;
+import com.prolinkli.framework.permission.model.PermissionMatrix;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the compiled {@link PermissionMatrix} and answers permission checks
+ * from it without touching the database.
+ *
+ * The matrix is compiled when the application is ready (after the Liquibase
+ * migrations) - or, when permission changes are notified, on the listener's
+ * first resync - or on the first check if that comes earlier, and rebuilt every
+ * {@code permissions.matrix.refresh-seconds} as a safety net. Changes pushed
+ * from the database replace a single role's row through {@link #reloadRole}.
+ * Either way a complete new matrix is swapped in, so checks never see a
+ * half-built one.
+ */
+@Service
+public class PermissionMatrixService implements ApplicationListener<ApplicationReadyEvent> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PermissionMatrixService.class);
+
+  private final PermissionMatrixMapper permissionMatrixMapper;
+
+  @Value("${permissions.matrix.refresh-seconds:300}")
+  private long refreshSeconds;
+
+  private volatile PermissionMatrix matrix;
+
+  private final ReentrantLock reloadLock = new ReentrantLock();
+
+  private final ScheduledExecutorService refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "permission-matrix-refresh");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  @Autowired
+  private ObjectProvider<PostgresNotificationListener> notificationListener;
+
+  @Autowired
+  public PermissionMatrixService(PermissionMatrixMapper permissionMatrixMapper) {
+    this.permissionMatrixMapper = permissionMatrixMapper;
+  }
+
+  @Override
+  public void onApplicationEvent(ApplicationReadyEvent event) {
+    // Otherwise the resync published on the listener's first connect loads it
+    PostgresNotificationListener listener = notificationListener.getIfAvailable();
+    if (listener == null || !listener.isListening(PermissionChangeNotificationListener.CHANNEL)) {
+      reload();
+    }
+    if (refreshSeconds > 0) {
+      refresher.scheduleWithFixedDelay(this::reloadQuietly, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  public PermissionMatrix getMatrix() {
+    PermissionMatrix current = matrix;
+    if (current == null) {
+      reload();
+      current = matrix;
+    }
+    return current;
+  }
+
+  public boolean hasPermission(Collection<String> roles, String permission, String target, int level) {
+    return getMatrix().hasPermission(roles, permission, target, level);
+  }
+
+  /**
+   * Recompiles the matrix from the database and swaps it in.
+   */
+  public void reload() {
+    reloadLock.lock();
+    try {
+      PermissionMatrix.Builder builder = PermissionMatrix.builder();
+      List<PermissionLevelDb> levels = permissionMatrixMapper.selectPermissionLevels();
+      for (PermissionLevelDb level : levels) {
+        builder.level(level.getPermissionLevelLk(), level.getLevelValue());
+      }
+      List<RolePermissionGrantDb> grants = permissionMatrixMapper.selectRolePermissionGrants();
+      for (RolePermissionGrantDb grant : grants) {
+        builder.grant(grant.getRoleId(), grant.getPermissionLk(), grant.getPermissionTargetLk(),
+            grant.getLevelValue());
+      }
+
+      PermissionMatrix compiled = builder.build();
+      this.matrix = compiled;
+      LOGGER.info("Compiled permission matrix: {} roles, {} grants", compiled.getRoleCount(),
+          compiled.getGrantCount());
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  /**
+   * Re-reads one role's grants and swaps in a matrix with only that role's
+   * row replaced. Falls back to a full reload when the role uses a permission
+   * or target the current matrix has no slot for.
+   */
+  public void reloadRole(String roleId) {
+    if (roleId == null) {
+      return;
+    }
+    reloadLock.lock();
+    try {
+      PermissionMatrix current = matrix;
+      if (current == null) {
+        reload();
+        return;
+      }
+
+      List<PermissionGrant> grants = permissionMatrixMapper.selectRolePermissionGrantsByRoleId(roleId).stream()
+          .map(grant -> new PermissionGrant(grant.getRoleId(), grant.getPermissionLk(),
+              grant.getPermissionTargetLk(), grant.getLevelValue()))
+          .collect(Collectors.toList());
+      PermissionMatrix updated = current.withRole(roleId, grants);
+      if (updated == null) {
+        reload();
+        return;
+      }
+      this.matrix = updated;
+      LOGGER.debug("Updated permission matrix for role {} ({} grants)", roleId, grants.size());
+    } finally {
+      reloadLock.unlock();
+    }
+  }
+
+  private void reloadQuietly() {
+    try {
+      reload();
+    } catch (Exception e) {
+      LOGGER.warn("Failed to rebuild permission matrix, keeping the previous one: {}", e.getMessage());
+    }
+  }
+
+}
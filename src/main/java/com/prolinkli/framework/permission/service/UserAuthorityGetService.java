@@ -0,0 +1,43 @@
+package com.prolinkli.framework.permission.service;
+
+import java.util.List;
+
+import com.prolinkli.core.app.db.mapper.custom.UserAuthorityMapper;
+import com.prolinkli.core.app.db.model.custom.UserAuthorityDb;
+import com.prolinkli.framework.permission.model.UserAuthorities;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Resolves a user's active roles and the permissions granted through them in
+ * a single query. Used when tokens are issued so that requests can be
+ * authorized from the token alone.
+ */
+@Service
+public class UserAuthorityGetService {
+
+  private final UserAuthorityMapper userAuthorityMapper;
+
+  @Autowired
+  public UserAuthorityGetService(UserAuthorityMapper userAuthorityMapper) {
+    this.userAuthorityMapper = userAuthorityMapper;
+  }
+
+  public UserAuthorities getUserAuthorities(Long userId) {
+    if (userId == null) {
+      throw new IllegalArgumentException("User ID cannot be null");
+    }
+
+    UserAuthorities authorities = new UserAuthorities();
+    List<UserAuthorityDb> rows = userAuthorityMapper.selectUserAuthorities(userId);
+    for (UserAuthorityDb row : rows) {
+      authorities.addRole(row.getRoleId());
+      if (row.getPermissionLk() != null) {
+        authorities.grant(row.getPermissionLk(), row.getPermissionTargetLk(), row.getLevelValue());
+      }
+    }
+    return authorities;
+  }
+
+}
@@ -0,0 +1,86 @@
+package com.prolinkli.framework.permission.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.prolinkli.core.app.Constants.Jwt;
+import com.prolinkli.framework.permission.model.PermissionAuthority;
+import com.prolinkli.framework.permission.model.UserAuthorities;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Encodes {@link UserAuthorities} into JWT claims and decodes verified claims
+ * back into Spring Security authorities.
+ *
+ * <pre>
+ * "roles": ["ADMIN", "PRO"],
+ * "perms": {"QUOTE:ALL": 15, "PROFILE": 3, "ADMIN": 0}
+ * </pre>
+ */
+public class AuthorityClaimsUtil {
+
+  public static final String ROLE_PREFIX = "ROLE_";
+
+  /**
+   * Every authenticated user carries this role, regardless of assignments.
+   */
+  public static final String DEFAULT_ROLE = "USER";
+
+  public static Map<String, Object> toClaims(UserAuthorities authorities) {
+    return Map.of(
+        Jwt.ROLES_CLAIMS_KEY, List.copyOf(authorities.getRoles()),
+        Jwt.PERMISSIONS_CLAIMS_KEY, Map.copyOf(authorities.getPermissions()));
+  }
+
+  /**
+   * Builds the granted authorities for a verified token: the default role, a
+   * {@code ROLE_} authority per role and a {@link PermissionAuthority} per
+   * permission entry. Malformed entries are skipped.
+   */
+  public static List<GrantedAuthority> toGrantedAuthorities(Map<String, Object> claims) {
+    List<GrantedAuthority> grantedAuthorities = new ArrayList<>();
+    grantedAuthorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + DEFAULT_ROLE));
+
+    if (claims.get(Jwt.ROLES_CLAIMS_KEY) instanceof Collection<?> roles) {
+      for (Object role : roles) {
+        if (role instanceof String roleId && !DEFAULT_ROLE.equals(roleId)) {
+          grantedAuthorities.add(new SimpleGrantedAuthority(ROLE_PREFIX + roleId));
+        }
+      }
+    }
+
+    if (claims.get(Jwt.PERMISSIONS_CLAIMS_KEY) instanceof Map<?, ?> permissions) {
+      for (Map.Entry<?, ?> entry : permissions.entrySet()) {
+        if (!(entry.getKey() instanceof String key) || !(entry.getValue() instanceof Number mask)) {
+          continue;
+        }
+        int separator = key.indexOf(UserAuthorities.KEY_SEPARATOR);
+        String permission = separator < 0 ? key : key.substring(0, separator);
+        String target = separator < 0 ? null : key.substring(separator + 1);
+        grantedAuthorities.add(new PermissionAuthority(permission, target, mask.intValue()));
+      }
+    }
+
+    return grantedAuthorities;
+  }
+
+  /**
+   * The role IDs of a principal's {@code ROLE_} authorities, including the
+   * default role.
+   */
+  public static List<String> toRoleIds(Collection<? extends GrantedAuthority> authorities) {
+    List<String> roles = new ArrayList<>();
+    for (GrantedAuthority authority : authorities) {
+      String name = authority.getAuthority();
+      if (name != null && name.startsWith(ROLE_PREFIX)) {
+        roles.add(name.substring(ROLE_PREFIX.length()));
+      }
+    }
+    return roles;
+  }
+
+}
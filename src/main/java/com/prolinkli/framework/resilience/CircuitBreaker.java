@@ -0,0 +1,175 @@
+package com.prolinkli.framework.resilience;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Minimal circuit breaker for calls to a remote dependency.
+ *
+ * CLOSED: calls go through; after {@code failureThreshold} consecutive
+ * failures the breaker opens.
+ * OPEN: calls fail immediately with {@link CircuitOpenException} until
+ * {@code openDuration} has passed.
+ * HALF_OPEN: a single probe call is let through; success closes the breaker,
+ * failure opens it again. Other callers are rejected while the probe runs.
+ *
+ * Metrics (tag {@code name}): {@code circuit.breaker.state} (0 closed,
+ * 1 half-open, 2 open), {@code circuit.breaker.transitions} (tag
+ * {@code state}) and {@code circuit.breaker.rejected}.
+ */
+public class CircuitBreaker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CircuitBreaker.class);
+
+  // Ordinals are the values of the state gauge
+  public enum State {
+    CLOSED, HALF_OPEN, OPEN
+  }
+
+  private final String name;
+  private final int failureThreshold;
+  private final long openDurationNanos;
+
+  private final ReentrantLock transitionLock = new ReentrantLock();
+  private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+  private volatile State state = State.CLOSED;
+  private volatile long openedAt;
+  private int consecutiveFailures;
+
+  private final MeterRegistry meterRegistry;
+  private final Counter rejectedCounter;
+
+  public CircuitBreaker(String name, int failureThreshold, Duration openDuration, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.failureThreshold = Math.max(1, failureThreshold);
+    this.openDurationNanos = openDuration.toNanos();
+    this.meterRegistry = meterRegistry;
+
+    this.rejectedCounter = Counter.builder("circuit.breaker.rejected").tag("name", name).register(meterRegistry);
+    Gauge.builder("circuit.breaker.state", this, breaker -> breaker.state.ordinal())
+        .tag("name", name)
+        .register(meterRegistry);
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Runs the call if the breaker allows it.
+   *
+   * @throws CircuitOpenException if the breaker is open or a half-open probe
+   *                              is already running
+   */
+  public <T> T execute(Supplier<T> call) {
+    boolean probe = acquirePermission();
+    try {
+      T result = call.get();
+      onSuccess();
+      return result;
+    } catch (RuntimeException e) {
+      onFailure(e);
+      throw e;
+    } finally {
+      if (probe) {
+        probeInFlight.set(false);
+      }
+    }
+  }
+
+  /**
+   * @return true if this call is the half-open probe
+   */
+  private boolean acquirePermission() {
+    State current = state;
+    if (current == State.CLOSED) {
+      return false;
+    }
+    if (current == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+      transition(State.OPEN, State.HALF_OPEN);
+      current = state;
+    }
+    if (current == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) {
+      return true;
+    }
+    if (current == State.CLOSED) {
+      return false;
+    }
+    rejectedCounter.increment();
+    throw new CircuitOpenException(name);
+  }
+
+  private void onSuccess() {
+    if (state == State.CLOSED) {
+      transitionLock.lock();
+      try {
+        consecutiveFailures = 0;
+      } finally {
+        transitionLock.unlock();
+      }
+      return;
+    }
+    transition(State.HALF_OPEN, State.CLOSED);
+  }
+
+  private void onFailure(RuntimeException e) {
+    transitionLock.lock();
+    try {
+      if (state == State.HALF_OPEN) {
+        LOGGER.warn("Circuit '{}' probe failed: {}", name, e.getMessage());
+        open();
+        return;
+      }
+      if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+        LOGGER.warn("Circuit '{}' opening after {} consecutive failures: {}", name, consecutiveFailures,
+            e.getMessage());
+        open();
+      }
+    } finally {
+      transitionLock.unlock();
+    }
+  }
+
+  private void transition(State from, State to) {
+    transitionLock.lock();
+    try {
+      if (state != from) {
+        return;
+      }
+      if (to == State.CLOSED) {
+        consecutiveFailures = 0;
+      }
+      setState(to);
+    } finally {
+      transitionLock.unlock();
+    }
+  }
+
+  // Caller holds transitionLock
+  private void open() {
+    openedAt = System.nanoTime();
+    consecutiveFailures = 0;
+    setState(State.OPEN);
+  }
+
+  private void setState(State to) {
+    LOGGER.info("Circuit '{}' {} -> {}", name, state, to);
+    state = to;
+    Counter.builder("circuit.breaker.transitions")
+        .tag("name", name)
+        .tag("state", to.name().toLowerCase())
+        .register(meterRegistry)
+        .increment();
+  }
+
+}
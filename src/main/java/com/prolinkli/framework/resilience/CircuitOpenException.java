@@ -0,0 +1,12 @@
+package com.prolinkli.framework.resilience;
+
+/**
+ * Thrown instead of calling a dependency whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+  public CircuitOpenException(String name) {
+    super("Circuit '" + name + "' is open");
+  }
+
+}
@@ -0,0 +1,103 @@
+package com.prolinkli.framework.util.bloom;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter of strings.
+ *
+ * {@link #mightContain} never returns false for a value that was added; it
+ * returns true for a value that was not added with roughly the false positive
+ * probability the filter was sized for, as long as no more than
+ * {@code expectedInsertions} values are added. Values cannot be removed.
+ *
+ * Bits live in an {@link AtomicLongArray} so adds and lookups need no lock.
+ * The k bit positions come from double hashing two seeded 64-bit hashes of
+ * the UTF-8 bytes.
+ */
+public class BloomFilter {
+
+  private static final double LN2 = Math.log(2);
+
+  private final AtomicLongArray words;
+  private final long bitCount;
+  private final int hashCount;
+  private final long expectedInsertions;
+  private final AtomicLong insertions = new AtomicLong();
+
+  public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+    if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+      throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+    }
+    this.expectedInsertions = Math.max(1, expectedInsertions);
+    long bits = (long) Math.ceil(-this.expectedInsertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+    this.words = new AtomicLongArray(wordCount);
+    this.bitCount = wordCount * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / this.expectedInsertions * LN2));
+  }
+
+  public void add(String value) {
+    long h1 = hash(value, 0);
+    long h2 = hash(value, h1);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current = words.get(word);
+      while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+        current = words.get(word);
+      }
+    }
+    insertions.incrementAndGet();
+  }
+
+  public boolean mightContain(String value) {
+    long h1 = hash(value, 0);
+    long h2 = hash(value, h1);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Number of {@link #add} calls, counting repeated values.
+   */
+  public long getInsertions() {
+    return insertions.get();
+  }
+
+  public long getExpectedInsertions() {
+    return expectedInsertions;
+  }
+
+  /**
+   * True once more values were added than the filter was sized for and the
+   * false positive rate is climbing above the target.
+   */
+  public boolean isSaturated() {
+    return insertions.get() > expectedInsertions;
+  }
+
+  // 64-bit FNV-1a over the UTF-8 bytes, seeded, with a murmur3 finalizer
+  private static long hash(String value, long seed) {
+    long h = 0xcbf29ce484222325L ^ seed;
+    for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+      h ^= b & 0xff;
+      h *= 0x100000001b3L;
+    }
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    // Odd so that the double-hashing stride never collapses to zero
+    return seed == 0 ? h : h | 1;
+  }
+
+}
@@ -0,0 +1,37 @@
+-- liquibase formatted sql
+-- changeset kerdogan:AddJwtTokenFamilies splitStatements:false
+
+-- Every login starts a new token family; refreshes carry the family forward so
+-- that a replayed refresh token can revoke every session descended from it.
+ALTER TABLE public.jwt_tokens
+	ADD COLUMN IF NOT EXISTS family_id UUID NOT NULL DEFAULT gen_random_uuid();
+
+CREATE INDEX IF NOT EXISTS idx_jwt_tokens_family_id ON public.jwt_tokens(family_id);
+
+-- Secrets that have already been rotated away. They are kept until the refresh
+-- token carrying them would have expired so that a replay can be recognised.
+select create_table(
+	table_name => 'jwt_token_rotations',
+	columns => 'token_secret VARCHAR(255) NOT NULL,
+							user_id BIGINT NOT NULL,
+							family_id UUID NOT NULL,
+							expires_at TIMESTAMP NOT NULL,
+							',
+	foreign_keys => '[
+		{
+			"column": "user_id",
+			"references": "users(id)",
+			"if_not_exists": true,
+			"on_delete": "CASCADE"
+		}
+	]',
+	options => '{
+		"schema": "public",
+		"add_soft_delete": false,
+		"primary_key": "token_secret",
+		"indexes": ["expires_at"],
+		"comment": "Rotated refresh token secrets kept for replay detection",
+		"if_not_exists": true,
+		"add_timestamps": true
+	}'
+);
@@ -0,0 +1,45 @@
+-- liquibase formatted sql
+-- changeset kerdogan:AddPermissionChangeNotifications splitStatements:false
+
+-- Every node keeps roles, role permissions and user roles in memory. These
+-- triggers tell them which role or user a committed change touched, on the
+-- permission_changes channel, so they can update just that entry.
+--
+-- Payload: {"table": ..., "op": ..., "role_id": ..., "old_role_id": ...,
+--           "user_id": ..., "old_user_id": ...}
+-- Columns a table does not have are null.
+CREATE OR REPLACE FUNCTION public.notify_permission_change()
+RETURNS TRIGGER AS $$
+BEGIN
+	PERFORM pg_notify('permission_changes', json_build_object(
+		'table', TG_TABLE_NAME,
+		'op', TG_OP,
+		'role_id', COALESCE(to_jsonb(NEW) ->> 'role_id', to_jsonb(OLD) ->> 'role_id'),
+		'old_role_id', to_jsonb(OLD) ->> 'role_id',
+		'user_id', COALESCE(to_jsonb(NEW) ->> 'user_id', to_jsonb(OLD) ->> 'user_id')::BIGINT,
+		'old_user_id', (to_jsonb(OLD) ->> 'user_id')::BIGINT
+	)::TEXT);
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_roles_notify_permission_change ON public.roles;
+CREATE TRIGGER trg_roles_notify_permission_change
+	AFTER INSERT OR UPDATE OR DELETE ON public.roles
+	FOR EACH ROW EXECUTE FUNCTION public.notify_permission_change();
+
+DROP TRIGGER IF EXISTS trg_role_permissions_notify_permission_change ON public.role_permissions;
+CREATE TRIGGER trg_role_permissions_notify_permission_change
+	AFTER INSERT OR UPDATE OR DELETE ON public.role_permissions
+	FOR EACH ROW EXECUTE FUNCTION public.notify_permission_change();
+
+DROP TRIGGER IF EXISTS trg_user_roles_notify_permission_change ON public.user_roles;
+CREATE TRIGGER trg_user_roles_notify_permission_change
+	AFTER INSERT OR UPDATE OR DELETE ON public.user_roles
+	FOR EACH ROW EXECUTE FUNCTION public.notify_permission_change();
+
+-- Level values are baked into the compiled matrix; a change here rebuilds it
+DROP TRIGGER IF EXISTS trg_permissions_levels_lk_notify_permission_change ON public.permissions_levels_lk;
+CREATE TRIGGER trg_permissions_levels_lk_notify_permission_change
+	AFTER INSERT OR UPDATE OR DELETE ON public.permissions_levels_lk
+	FOR EACH ROW EXECUTE FUNCTION public.notify_permission_change();
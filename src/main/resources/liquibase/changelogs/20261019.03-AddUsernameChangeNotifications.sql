@@ -0,0 +1,18 @@
+-- liquibase formatted sql
+-- changeset kerdogan:AddUsernameChangeNotifications splitStatements:false
+
+-- Each node keeps an in-memory filter of taken usernames. New and renamed
+-- usernames are sent on the username_changes channel so that every node adds
+-- them, not just the one that created the user.
+CREATE OR REPLACE FUNCTION public.notify_username_change()
+RETURNS TRIGGER AS $$
+BEGIN
+	PERFORM pg_notify('username_changes', NEW.username);
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_users_notify_username_change ON public.users;
+CREATE TRIGGER trg_users_notify_username_change
+	AFTER INSERT OR UPDATE OF username ON public.users
+	FOR EACH ROW EXECUTE FUNCTION public.notify_username_change();
@@ -0,0 +1,27 @@
+-- liquibase formatted sql
+-- changeset kerdogan:AddUsernameSuffixes splitStatements:false
+
+-- Per-base suffix counter for generated (OAuth) usernames. Allocating a name
+-- bumps the counter with INSERT ... ON CONFLICT, so concurrent signups with
+-- the same base get different names without checking and retrying.
+-- next_suffix 0 means the bare base name was handed out.
+select create_table(
+	table_name => 'username_suffixes',
+	columns => 'base VARCHAR(50) NOT NULL,
+							next_suffix INTEGER NOT NULL DEFAULT 0,
+							',
+	options => '{
+		"schema": "public",
+		"add_soft_delete": false,
+		"primary_key": "base",
+		"comment": "Last suffix allocated for each generated username base",
+		"if_not_exists": true,
+		"add_timestamps": false
+	}'
+);
+
+-- Names that already exist count as allocated bases
+INSERT INTO public.username_suffixes (base, next_suffix)
+SELECT username, 0
+FROM public.users
+ON CONFLICT (base) DO NOTHING;
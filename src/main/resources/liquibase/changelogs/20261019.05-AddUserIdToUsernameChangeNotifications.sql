@@ -0,0 +1,13 @@
+-- liquibase formatted sql
+-- changeset kerdogan:AddUserIdToUsernameChangeNotifications splitStatements:false
+
+-- Nodes also cache users by id, so a rename has to say whose name changed.
+-- The payload becomes '<id>:<username>'; the id is numeric, so everything
+-- after the first ':' is the username.
+CREATE OR REPLACE FUNCTION public.notify_username_change()
+RETURNS TRIGGER AS $$
+BEGIN
+	PERFORM pg_notify('username_changes', NEW.id || ':' || NEW.username);
+	RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
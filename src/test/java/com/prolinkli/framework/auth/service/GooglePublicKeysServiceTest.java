@@ -0,0 +1,231 @@
+package com.prolinkli.framework.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleIdTokenVerifier;
+import com.google.api.client.googleapis.auth.oauth2.GooglePublicKeysManager;
+import com.google.api.client.http.HttpTransport;
+import com.prolinkli.framework.config.google.GoogleClientConfig;
+import com.sun.net.httpserver.HttpServer;
+
+import io.jsonwebtoken.Jwts;
+
+import org.bouncycastle.asn1.ASN1Encoding;
+import org.bouncycastle.asn1.ASN1EncodableVector;
+import org.bouncycastle.asn1.ASN1Integer;
+import org.bouncycastle.asn1.DERBitString;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.DERSequence;
+import org.bouncycastle.asn1.pkcs.PKCSObjectIdentifiers;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.AlgorithmIdentifier;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.asn1.x509.TBSCertificate;
+import org.bouncycastle.asn1.x509.Time;
+import org.bouncycastle.asn1.x509.V3TBSCertificateGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Runs GooglePublicKeysService against a local server standing in for
+ * Google's certs endpoint (google.oauth.certs-url).
+ */
+class GooglePublicKeysServiceTest {
+
+  private static final String CLIENT_ID = "test-client-id.apps.googleusercontent.com";
+
+  // Far enough out that GooglePublicKeysManager, which refreshes on the
+  // calling thread within five minutes of expiry, never does so here
+  private static final long MAX_AGE_SECONDS = 400;
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+  private final AtomicReference<String> certsBody = new AtomicReference<>();
+
+  private final AtomicInteger certsRequests = new AtomicInteger();
+
+  private HttpServer server;
+
+  private HttpTransport transport;
+
+  private GooglePublicKeysService service;
+
+  private KeyPair keyA;
+
+  private KeyPair keyB;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext("/certs", exchange -> {
+      certsRequests.incrementAndGet();
+      byte[] body = certsBody.get().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+      exchange.getResponseHeaders().add("Cache-Control", "public, max-age=" + MAX_AGE_SECONDS);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    });
+    server.start();
+
+    KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+    generator.initialize(2048);
+    keyA = generator.generateKeyPair();
+    keyB = generator.generateKeyPair();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (service != null) {
+      service.shutdown();
+    }
+    if (transport != null) {
+      transport.shutdown();
+    }
+    server.stop(0);
+  }
+
+  @Test
+  void unknownKeyIsRejectedWithoutFetchingCerts() throws Exception {
+    certsBody.set(certs("a", keyA));
+    GoogleIdTokenVerifier verifier = start(60);
+    int requests = certsRequests.get();
+
+    assertNotNull(verifier.verify(idToken("a", keyA)));
+    assertNull(verifier.verify(idToken("b", keyB)));
+    assertEquals(requests, certsRequests.get(), "verification must not fetch the certs");
+  }
+
+  @Test
+  void rotatedKeyIsPickedUpInBackground() throws Exception {
+    certsBody.set(certs("a", keyA));
+    // Refresh one second after each load
+    GoogleIdTokenVerifier verifier = start(MAX_AGE_SECONDS - 1);
+    String tokenA = idToken("a", keyA);
+    String tokenB = idToken("b", keyB);
+    assertNotNull(verifier.verify(tokenA));
+
+    certsBody.set(certs("b", keyB));
+
+    await(() -> {
+      try {
+        return verifier.verify(tokenB) != null;
+      } catch (Exception e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    assertNull(verifier.verify(tokenA), "a retired key must no longer verify");
+    assertTrue(certsRequests.get() >= 2);
+  }
+
+  /**
+   * Starts the service against the stub and waits for its first load.
+   */
+  private GoogleIdTokenVerifier start(long refreshAheadSeconds) {
+    GoogleClientConfig config = new GoogleClientConfig();
+    ReflectionTestUtils.setField(config, "maxConnections", 5);
+    ReflectionTestUtils.setField(config, "connectTimeoutMs", 2000);
+    ReflectionTestUtils.setField(config, "readTimeoutMs", 2000);
+    ReflectionTestUtils.setField(config, "certsUrl",
+        "http://127.0.0.1:" + server.getAddress().getPort() + "/certs");
+    transport = config.googleHttpTransport();
+    GooglePublicKeysManager manager = config.googlePublicKeysManager(transport, config.googleJsonFactory());
+
+    service = new GooglePublicKeysService(manager);
+    ReflectionTestUtils.setField(service, "refreshAheadSeconds", refreshAheadSeconds);
+    ReflectionTestUtils.setField(service, "retrySeconds", 1L);
+    service.init();
+
+    await(() -> certsRequests.get() >= 1 && manager.getExpirationTimeMilliseconds() > 0);
+
+    return new GoogleIdTokenVerifier.Builder(service.getPublicKeysManager())
+        .setAudience(List.of(CLIENT_ID))
+        .build();
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        fail("Condition not met within " + TIMEOUT);
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  private static String idToken(String kid, KeyPair keyPair) {
+    long now = System.currentTimeMillis();
+    return Jwts.builder()
+        .header().keyId(kid).and()
+        .issuer("https://accounts.google.com")
+        .audience().add(CLIENT_ID).and()
+        .subject("1234567890")
+        .claim("email", "user@example.com")
+        .issuedAt(new Date(now))
+        .expiration(new Date(now + 3_600_000))
+        .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+        .compact();
+  }
+
+  /**
+   * The certs endpoint body: a JSON object of key id to PEM certificate.
+   */
+  private static String certs(String kid, KeyPair keyPair) throws Exception {
+    String pem = "-----BEGIN CERTIFICATE-----\\n"
+        + Base64.getMimeEncoder(64, "\\n".getBytes(StandardCharsets.US_ASCII))
+            .encodeToString(selfSignedCertificate(keyPair))
+        + "\\n-----END CERTIFICATE-----\\n";
+    return "{\"" + kid + "\": \"" + pem + "\"}";
+  }
+
+  private static byte[] selfSignedCertificate(KeyPair keyPair) throws Exception {
+    long now = System.currentTimeMillis();
+    X500Name name = new X500Name("CN=stub.googleapis.test");
+    AlgorithmIdentifier algorithm = new AlgorithmIdentifier(PKCSObjectIdentifiers.sha256WithRSAEncryption,
+        DERNull.INSTANCE);
+
+    V3TBSCertificateGenerator tbsGenerator = new V3TBSCertificateGenerator();
+    tbsGenerator.setSerialNumber(new ASN1Integer(BigInteger.valueOf(now)));
+    tbsGenerator.setIssuer(name);
+    tbsGenerator.setSubject(name);
+    tbsGenerator.setStartDate(new Time(new Date(now - 60_000)));
+    tbsGenerator.setEndDate(new Time(new Date(now + 86_400_000)));
+    tbsGenerator.setSignature(algorithm);
+    tbsGenerator.setSubjectPublicKeyInfo(SubjectPublicKeyInfo.getInstance(keyPair.getPublic().getEncoded()));
+    TBSCertificate tbs = tbsGenerator.generateTBSCertificate();
+
+    Signature signature = Signature.getInstance("SHA256withRSA");
+    signature.initSign(keyPair.getPrivate());
+    signature.update(tbs.getEncoded(ASN1Encoding.DER));
+
+    ASN1EncodableVector certificate = new ASN1EncodableVector();
+    certificate.add(tbs);
+    certificate.add(algorithm);
+    certificate.add(new DERBitString(signature.sign()));
+    return new DERSequence(certificate).getEncoded(ASN1Encoding.DER);
+  }
+
+}
@@ -0,0 +1,87 @@
+package com.prolinkli.framework.permission.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class PermissionMatrixTest {
+
+  private static final int NONE = 0;
+  private static final int READ = 1;
+  private static final int CREATE = 7;
+
+  private static PermissionMatrix.Builder levels() {
+    return PermissionMatrix.builder()
+        .level("NONE", NONE)
+        .level("READ", READ)
+        .level("CREATE", CREATE);
+  }
+
+  @Test
+  void noneGrantIsDenied() {
+    PermissionMatrix matrix = levels()
+        .grant("GUEST", "USER", "ALL", NONE)
+        .build();
+
+    assertFalse(matrix.hasPermission(Set.of("GUEST"), "USER", "ALL", 0));
+    assertFalse(matrix.hasPermission(Set.of("GUEST"), "USER", "TEAM", 0));
+    assertFalse(matrix.hasPermission(Set.of("GUEST"), "USER", "ALL", CREATE));
+    assertEquals(0, matrix.getLevelMask(Set.of("GUEST"), "USER", "ALL"));
+    assertEquals(0, matrix.getGrantCount());
+  }
+
+  @Test
+  void noneGrantIsDeniedThroughRoleMask() {
+    PermissionMatrix.RoleMask mask = levels()
+        .grant("GUEST", "USER", "ALL", NONE)
+        .build()
+        .forRoles(Set.of("GUEST"));
+
+    assertFalse(mask.allows("USER", "ALL", 0));
+    assertFalse(mask.allows("USER", "ALL", CREATE));
+  }
+
+  @Test
+  void noneGrantIsDeniedAfterIncrementalUpdate() {
+    PermissionMatrix matrix = levels()
+        .grant("GUEST", "USER", "ALL", READ)
+        .build();
+    assertTrue(matrix.hasPermission(Set.of("GUEST"), "USER", "ALL", 0));
+
+    PermissionMatrix updated = matrix.withRole("GUEST",
+        List.of(new PermissionGrant("GUEST", "USER", "ALL", NONE)));
+
+    assertNotNull(updated);
+    assertFalse(updated.hasPermission(Set.of("GUEST"), "USER", "ALL", 0));
+    assertFalse(updated.forRoles(Set.of("GUEST")).allows("USER", "ALL", 0));
+  }
+
+  @Test
+  void levelLessGrantIsAllowed() {
+    PermissionMatrix matrix = levels()
+        .grant("ADMIN", "ADMIN", null, null)
+        .build();
+
+    assertTrue(matrix.hasPermission(Set.of("ADMIN"), "ADMIN", null, 0));
+    assertTrue(matrix.forRoles(Set.of("ADMIN")).allows("ADMIN", null, 0));
+  }
+
+  @Test
+  void allTargetGrantCoversOtherTargets() {
+    PermissionMatrix matrix = levels()
+        .grant("ADMIN", "USER", "ALL", CREATE)
+        .grant("ADMIN", "USER", "TEAM", READ)
+        .build();
+
+    assertTrue(matrix.hasPermission(Set.of("ADMIN"), "USER", "TEAM", CREATE));
+    assertTrue(matrix.hasPermission(Set.of("ADMIN"), "USER", "ALL", CREATE));
+    assertFalse(matrix.hasPermission(Set.of("OTHER"), "USER", "ALL", READ));
+  }
+
+}